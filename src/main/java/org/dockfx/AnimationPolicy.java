@@ -0,0 +1,104 @@
+package org.dockfx;
+
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+
+/**
+ * AnimationPolicy decides which animations DockFX plays. The current policy is
+ * shared by all dock panes and tab panes and can be changed at runtime. It is
+ * initially detected from the environment, or taken from the system property
+ * {@code dockfx.animation} set to {@code full}, {@code reduced} or
+ * {@code none}.
+ */
+public enum AnimationPolicy {
+	/**
+	 * Play all animations.
+	 */
+	FULL,
+
+	/**
+	 * Play short transitions, like opening and closing tabs, but no
+	 * continuously running animations, like the crawling border of the docking
+	 * area indicator. Detected for remote sessions, where every frame costs
+	 * bandwidth.
+	 */
+	REDUCED,
+
+	/**
+	 * Play no animations at all. Detected for headless sessions.
+	 */
+	NONE;
+
+	private static final ObjectProperty<AnimationPolicy> current = new SimpleObjectProperty<>(AnimationPolicy.class,
+			"current", detect());
+
+	/**
+	 * The animation policy used by DockFX.
+	 *
+	 * @return the current animation policy property
+	 */
+	public static ObjectProperty<AnimationPolicy> currentProperty() {
+		return current;
+	}
+
+	public static AnimationPolicy getCurrent() {
+		return current.get();
+	}
+
+	public static void setCurrent(AnimationPolicy policy) {
+		current.set(policy);
+	}
+
+	/**
+	 * Whether animations that run until they are stopped may play.
+	 *
+	 * @return whether continuous animations are allowed
+	 */
+	public boolean allowsContinuous() {
+		return this == FULL;
+	}
+
+	/**
+	 * Whether short transitions may play.
+	 *
+	 * @return whether transitions are allowed
+	 */
+	public boolean allowsTransitions() {
+		return this != NONE;
+	}
+
+	/**
+	 * Detects the policy suitable for the current session.
+	 *
+	 * @return the detected animation policy
+	 */
+	public static AnimationPolicy detect() {
+		try {
+			String configured = System.getProperty("dockfx.animation");
+			if (configured != null) {
+				for (AnimationPolicy policy : values()) {
+					if (policy.name().equalsIgnoreCase(configured.trim())) {
+						return policy;
+					}
+				}
+				System.err.println("Unknown dockfx.animation value: " + configured);
+			}
+
+			if ("Headless".equalsIgnoreCase(System.getProperty("monocle.platform"))
+					|| Boolean.getBoolean("testfx.headless")) {
+				return NONE;
+			}
+
+			String display = System.getenv("DISPLAY");
+			String sessionName = System.getenv("SESSIONNAME");
+			if (System.getenv("SSH_CONNECTION") != null || System.getenv("SSH_CLIENT") != null
+					|| System.getenv("VNCDESKTOP") != null || (display != null && !display.startsWith(":"))
+					|| (sessionName != null && sessionName.startsWith("RDP-"))) {
+				return REDUCED;
+			}
+		} catch (SecurityException e) {
+			// not allowed to inspect the environment
+		}
+		return FULL;
+	}
+}
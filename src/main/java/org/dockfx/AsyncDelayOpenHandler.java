@@ -0,0 +1,47 @@
+package org.dockfx;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import javafx.scene.Node;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.layout.StackPane;
+
+/**
+ * Asynchronous variant of {@link DelayOpenHandler}. The layout is restored
+ * with placeholder dock nodes right away while the contents of the nodes are
+ * built in parallel and swapped in as each of them completes.
+ */
+public interface AsyncDelayOpenHandler {
+	/**
+	 * Builds the contents of a dock node. The dock pane calls this on its
+	 * restore executor, not on the FX thread, so the contents of several nodes
+	 * are built in parallel. Nodes that are not yet part of a scene may be
+	 * created here. Work that needs the FX thread has to be handed over to it,
+	 * e.g. with {@link javafx.application.Platform#runLater(Runnable)}, and
+	 * the returned future completed from there. Further work can be split up
+	 * on the given executor. The contents are swapped into the dock node on
+	 * the FX thread.
+	 *
+	 * @param nodeName
+	 *            the setting name of the dock node
+	 * @param executor
+	 *            the executor configured on the dock pane
+	 * @return the future contents of the dock node
+	 */
+	public CompletableFuture<Node> open(String nodeName, Executor executor);
+
+	/**
+	 * Creates the dock node that is laid out while its contents are built.
+	 * Called on the FX thread.
+	 *
+	 * @param nodeName
+	 *            the setting name of the dock node
+	 * @param title
+	 *            the title the dock node was saved with
+	 * @return the dock node with placeholder contents
+	 */
+	public default DockNode createDockNode(String nodeName, String title) {
+		return new DockNode(new StackPane(new ProgressIndicator()), title);
+	}
+}
@@ -36,7 +36,11 @@ public class ContentHolder {
 		/**
 		 * The MainWindow.
 		 */
-		MainWindow
+		MainWindow,
+		/**
+		 * The FloatingHost.
+		 */
+		FloatingHost
 	}
 
 	String name;
@@ -6,4 +6,19 @@ package org.dockfx;
  */
 public interface DelayOpenHandler {
 	public DockNode open(String nodeName);
+
+	/**
+	 * Opens a dock node with the title it was saved with. The dock pane sets
+	 * the title on the opened node anyway, so by default the title is
+	 * ignored.
+	 *
+	 * @param nodeName
+	 *            the setting name of the dock node
+	 * @param title
+	 *            the saved title of the dock node
+	 * @return the opened dock node, or null if it cannot be opened
+	 */
+	public default DockNode open(String nodeName, String title) {
+		return open(nodeName);
+	}
 }
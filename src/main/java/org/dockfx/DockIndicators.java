@@ -0,0 +1,315 @@
+package org.dockfx;
+
+import org.dockfx.DockPane.DockPosButton;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.Timeline;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Point2D;
+import javafx.geometry.Pos;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.StackPane;
+import javafx.scene.shape.Rectangle;
+import javafx.stage.Popup;
+import javafx.util.Duration;
+
+/**
+ * DockIndicators is the dock indicator overlay shared by all dock panes. Only
+ * one dock node can be dragged at a time, so the popups, the indicator
+ * buttons and the animated docking area shape are created once, on the first
+ * drag, and retargeted to whichever dock pane is currently hovered.
+ *
+ * The indicators are shown in popup windows over the dock pane, or in a layer
+ * inside the scene of the dock pane if it renders its indicators in-scene. The
+ * popups are only created once a dock pane needs them.
+ */
+final class DockIndicators {
+
+	private static DockIndicators instance;
+
+	/**
+	 * The docking area shape with a dotted animated border on the indicator
+	 * overlay popup.
+	 */
+	final Rectangle dockAreaIndicator;
+	/**
+	 * The timeline used to animate the border of the docking area indicator
+	 * shape.
+	 */
+	final Timeline dockAreaStrokeTimeline;
+	/**
+	 * The pane sized to the target dock pane that holds the root dock
+	 * indicator buttons and the docking area indicator.
+	 */
+	final StackPane dockRootPane;
+	/**
+	 * The popup used to display the root dock indicator buttons and the docking
+	 * area indicator.
+	 */
+	private Popup dockIndicatorOverlay;
+	/**
+	 * The grid pane used to lay out the local dock indicator buttons. This is
+	 * the grid used to lay out the buttons in the circular indicator.
+	 */
+	final GridPane dockPosIndicator;
+	/**
+	 * The popup used to display the local dock indicator buttons. This allows
+	 * these indicator buttons to be displayed outside the window of the dock
+	 * pane.
+	 */
+	private Popup dockIndicatorPopup;
+	/**
+	 * The layer on top of the target dock pane holding the indicators when the
+	 * dock pane renders them in its own scene.
+	 */
+	private final Pane indicatorLayer;
+	/**
+	 * Whether the root dock indicator buttons and the docking area indicator
+	 * are currently shown, in a popup or in-scene.
+	 */
+	private final BooleanProperty overlayShowing = new SimpleBooleanProperty(false);
+	/**
+	 * A collection used to manage the indicator buttons and automate hit
+	 * detection during DOCK_OVER events.
+	 */
+	final ObservableList<DockPosButton> dockPosButtons;
+
+	/**
+	 * The dock pane the indicators are currently shown for, null between
+	 * drags.
+	 */
+	private DockPane target;
+	/**
+	 * Whether the indicators are shown in-scene for the current target.
+	 */
+	private boolean inScene;
+
+	static DockIndicators get() {
+		if (instance == null) {
+			instance = new DockIndicators();
+		}
+		return instance;
+	}
+
+	private DockIndicators() {
+		dockRootPane = new StackPane();
+
+		// the layer is sized by hand and must never be picked as a dock event
+		// target in place of the dock nodes below it
+		indicatorLayer = new Pane();
+		indicatorLayer.setManaged(false);
+		indicatorLayer.setMouseTransparent(true);
+
+		dockAreaIndicator = new Rectangle();
+		dockAreaIndicator.setManaged(false);
+		dockAreaIndicator.setMouseTransparent(true);
+
+		dockAreaStrokeTimeline = new Timeline();
+		dockAreaStrokeTimeline.setCycleCount(Timeline.INDEFINITE);
+		// 12 is the cumulative offset of the stroke dash array in the
+		// default.css style sheet
+		// RFE filed for CSS styled timelines/animations:
+		// https://bugs.openjdk.java.net/browse/JDK-8133837
+		KeyValue kv = new KeyValue(dockAreaIndicator.strokeDashOffsetProperty(), 12);
+		KeyFrame kf = new KeyFrame(Duration.millis(500), kv);
+		dockAreaStrokeTimeline.getKeyFrames().add(kf);
+		// the animation keeps the pulse running, so it only plays while it can
+		// be seen
+		AnimationPolicy.currentProperty().addListener(observable -> updateDockAreaStrokeTimeline());
+		overlayShowing.addListener(observable -> updateDockAreaStrokeTimeline());
+
+		DockPosButton dockCenter = new DockPosButton(false, DockPos.CENTER);
+		dockCenter.getStyleClass().add("dock-center");
+
+		DockPosButton dockTop = new DockPosButton(false, DockPos.TOP);
+		dockTop.getStyleClass().add("dock-top");
+		DockPosButton dockRight = new DockPosButton(false, DockPos.RIGHT);
+		dockRight.getStyleClass().add("dock-right");
+		DockPosButton dockBottom = new DockPosButton(false, DockPos.BOTTOM);
+		dockBottom.getStyleClass().add("dock-bottom");
+		DockPosButton dockLeft = new DockPosButton(false, DockPos.LEFT);
+		dockLeft.getStyleClass().add("dock-left");
+
+		DockPosButton dockTopRoot = new DockPosButton(true, DockPos.TOP);
+		StackPane.setAlignment(dockTopRoot, Pos.TOP_CENTER);
+		dockTopRoot.getStyleClass().add("dock-top-root");
+
+		DockPosButton dockRightRoot = new DockPosButton(true, DockPos.RIGHT);
+		StackPane.setAlignment(dockRightRoot, Pos.CENTER_RIGHT);
+		dockRightRoot.getStyleClass().add("dock-right-root");
+
+		DockPosButton dockBottomRoot = new DockPosButton(true, DockPos.BOTTOM);
+		StackPane.setAlignment(dockBottomRoot, Pos.BOTTOM_CENTER);
+		dockBottomRoot.getStyleClass().add("dock-bottom-root");
+
+		DockPosButton dockLeftRoot = new DockPosButton(true, DockPos.LEFT);
+		StackPane.setAlignment(dockLeftRoot, Pos.CENTER_LEFT);
+		dockLeftRoot.getStyleClass().add("dock-left-root");
+
+		// TODO: dockCenter goes first when tabs are added in a future version
+		dockPosButtons = FXCollections.observableArrayList(dockCenter, dockTop, dockRight, dockBottom, dockLeft,
+				dockTopRoot, dockRightRoot, dockBottomRoot, dockLeftRoot);
+
+		dockPosIndicator = new GridPane();
+		dockPosIndicator.add(dockTop, 1, 0);
+		dockPosIndicator.add(dockRight, 2, 1);
+		dockPosIndicator.add(dockBottom, 1, 2);
+		dockPosIndicator.add(dockLeft, 0, 1);
+		dockPosIndicator.add(dockCenter, 1, 1);
+
+		dockRootPane.getChildren().addAll(dockAreaIndicator, dockTopRoot, dockRightRoot, dockBottomRoot, dockLeftRoot);
+
+		dockRootPane.getStyleClass().add("dock-root-pane");
+		dockPosIndicator.getStyleClass().add("dock-pos-indicator");
+		dockAreaIndicator.getStyleClass().add("dock-area-indicator");
+	}
+
+	private void updateDockAreaStrokeTimeline() {
+		if (AnimationPolicy.getCurrent().allowsContinuous() && overlayShowing.get()) {
+			dockAreaStrokeTimeline.play();
+		} else {
+			dockAreaStrokeTimeline.stop();
+		}
+	}
+
+	boolean isTarget(DockPane pane) {
+		return target == pane;
+	}
+
+	/**
+	 * Moves the indicators over to the given dock pane, hiding them first if
+	 * they are still shown for another one.
+	 *
+	 * @param pane
+	 *            the dock pane now being dragged over
+	 * @param source
+	 *            the dock node being dragged
+	 */
+	void retarget(DockPane pane, DockNode source) {
+		if (target == pane) {
+			return;
+		}
+		if (target != null) {
+			hide(target);
+		}
+
+		dockRootPane.prefWidthProperty().bind(pane.widthProperty());
+		dockRootPane.prefHeightProperty().bind(pane.heightProperty());
+		target = pane;
+		// a dragged floating window is above the target window and would
+		// cover indicators drawn in its scene
+		inScene = pane.isInSceneIndicators() && source.getScene() != null && pane.getScene() != null
+				&& source.getScene().getWindow() == pane.getScene().getWindow();
+	}
+
+	boolean isOverlayShowing() {
+		return overlayShowing.get();
+	}
+
+	/**
+	 * Shows the root dock indicator buttons and the docking area indicator
+	 * for the target dock pane.
+	 *
+	 * @param screenX
+	 *            the screen x of the top left corner of the overlay
+	 * @param screenY
+	 *            the screen y of the top left corner of the overlay
+	 */
+	void showOverlay(double screenX, double screenY) {
+		if (inScene) {
+			showLayer();
+			if (dockRootPane.getParent() != indicatorLayer) {
+				indicatorLayer.getChildren().add(0, dockRootPane);
+			}
+			Point2D origin = indicatorLayer.screenToLocal(screenX, screenY);
+			dockRootPane.relocate(origin.getX(), origin.getY());
+		} else {
+			if (dockIndicatorOverlay == null) {
+				dockIndicatorOverlay = new Popup();
+				dockIndicatorOverlay.setAutoFix(false);
+			}
+			if (!dockIndicatorOverlay.getContent().contains(dockRootPane)) {
+				dockRootPane.relocate(0, 0);
+				dockIndicatorOverlay.getContent().add(dockRootPane);
+			}
+			dockIndicatorOverlay.show(target, screenX, screenY);
+		}
+		overlayShowing.set(true);
+	}
+
+	/**
+	 * Shows or moves the local dock indicator buttons for the target dock
+	 * pane.
+	 *
+	 * @param screenX
+	 *            the screen x of the top left corner of the indicator
+	 * @param screenY
+	 *            the screen y of the top left corner of the indicator
+	 */
+	void showIndicator(double screenX, double screenY) {
+		if (inScene) {
+			showLayer();
+			if (dockPosIndicator.getParent() != indicatorLayer) {
+				indicatorLayer.getChildren().add(dockPosIndicator);
+				dockPosIndicator.applyCss();
+				dockPosIndicator.autosize();
+			}
+			Point2D origin = indicatorLayer.screenToLocal(screenX, screenY);
+			dockPosIndicator.relocate(origin.getX(), origin.getY());
+		} else {
+			if (dockIndicatorPopup == null) {
+				dockIndicatorPopup = new Popup();
+				dockIndicatorPopup.setAutoFix(false);
+			}
+			if (!dockIndicatorPopup.getContent().contains(dockPosIndicator)) {
+				dockPosIndicator.relocate(0, 0);
+				dockIndicatorPopup.getContent().add(dockPosIndicator);
+			}
+			if (!dockIndicatorPopup.isShowing()) {
+				dockIndicatorPopup.show(target, screenX, screenY);
+			} else {
+				dockIndicatorPopup.setX(screenX);
+				dockIndicatorPopup.setY(screenY);
+			}
+		}
+	}
+
+	private void showLayer() {
+		if (indicatorLayer.getParent() != target) {
+			target.getChildren().add(indicatorLayer);
+		}
+		indicatorLayer.resizeRelocate(0, 0, target.getWidth(), target.getHeight());
+	}
+
+	/**
+	 * Hides the indicators if they are shown for the given dock pane and lets
+	 * go of it, so the shared indicators never keep a dock pane alive.
+	 *
+	 * @param pane
+	 *            the dock pane the drag left or was released over
+	 */
+	void hide(DockPane pane) {
+		if (target != pane) {
+			return;
+		}
+
+		if (dockIndicatorOverlay != null && dockIndicatorOverlay.isShowing()) {
+			dockIndicatorOverlay.hide();
+		}
+		if (dockIndicatorPopup != null && dockIndicatorPopup.isShowing()) {
+			dockIndicatorPopup.hide();
+		}
+		if (indicatorLayer.getParent() == pane) {
+			pane.getChildren().remove(indicatorLayer);
+		}
+		overlayShowing.set(false);
+		dockRootPane.prefWidthProperty().unbind();
+		dockRootPane.prefHeightProperty().unbind();
+		target = null;
+	}
+}
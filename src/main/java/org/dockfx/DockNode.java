@@ -20,7 +20,12 @@
 
 package org.dockfx;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import org.dockfx.pane.ContentPane;
 import org.dockfx.pane.ContentPane.Type;
@@ -29,12 +34,20 @@ import org.dockfx.pane.ContentTabPane;
 import org.dockfx.pane.DockNodeTab;
 import org.dockfx.viewControllers.DockFXViewController;
 
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
 import javafx.css.PseudoClass;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
@@ -74,9 +87,23 @@ public class DockNode extends VBox implements EventHandler<MouseEvent> {
 	 */
 	private StageStyle stageStyle = StageStyle.UNDECORATED;
 	/**
-	 * The stage that this dock node is currently using when floating.
+	 * The stage that this dock node is currently using when floating. It is
+	 * kept hidden for a while after the node is docked again so that the next
+	 * float can reuse it instead of building a new window and scene.
 	 */
 	private Stage stage;
+	/**
+	 * How long a hidden floating stage is kept for reuse, in milliseconds.
+	 */
+	private long floatingStageReleaseDelay = 30000;
+	/**
+	 * The pending release of the hidden floating stage, if any.
+	 */
+	private TimerTask floatingStageRelease;
+	/**
+	 * Timer shared by all dock nodes for releasing idle floating stages.
+	 */
+	private static Timer floatingStageReleaseTimer;
 
 	/**
 	 * The contents of the dock node, i.e. a TreeView or ListView.
@@ -139,6 +166,10 @@ public class DockNode extends VBox implements EventHandler<MouseEvent> {
 				borderPane.pseudoClassStateChanged(MAXIMIZED_PSEUDO_CLASS, get());
 			}
 
+			if (stage == null) {
+				return;
+			}
+
 			if (!get()) {
 				stage.setX(xPosBeforeMaximizing);
 				stage.setY(yPosBeforeMaximizing);
@@ -239,7 +270,10 @@ public class DockNode extends VBox implements EventHandler<MouseEvent> {
 	 *            bidirectional state with the title bar and stage.
 	 */
 	public DockNode(String FXMLPath, String title, Node graphic) {
-		FXMLLoader loader = loadNode(FXMLPath);
+		this(loadNode(FXMLPath), title, graphic);
+	}
+
+	private DockNode(FXMLLoader loader, String title, Node graphic) {
 		initializeDockNode(loader.getRoot(), title, graphic, loader.getController());
 	}
 
@@ -277,14 +311,54 @@ public class DockNode extends VBox implements EventHandler<MouseEvent> {
 	 *         message.
 	 */
 	private static FXMLLoader loadNode(String FXMLPath) {
-		FXMLLoader loader = new FXMLLoader();
 		try {
-			loader.load(DockNode.class.getResourceAsStream(FXMLPath));
+			return FXMLTemplateCache.load(FXMLPath, FXMLLoader.getDefaultClassLoader());
 		} catch (Exception e) {
 			e.printStackTrace();
+			FXMLLoader loader = new FXMLLoader();
 			loader.setRoot(new StackPane(new Label("Could not load FXML file")));
+			return loader;
 		}
-		return loader;
+	}
+
+	/**
+	 * Creates a DockNode with contents loaded from FXMLFile at provided path
+	 * without blocking the FX thread. The file is loaded on the given executor
+	 * and the dock node is created on the FX thread. Contents that can only be
+	 * created on the FX thread, like a WebView, are loaded there instead.
+	 *
+	 * @param FXMLPath
+	 *            path to fxml file.
+	 * @param title
+	 *            The caption title of this dock node which maintains
+	 *            bidirectional state with the title bar and stage.
+	 * @param graphic
+	 *            The caption title of this dock node which maintains
+	 *            bidirectional state with the title bar and stage.
+	 * @param executor
+	 *            The executor the file is loaded on.
+	 * @return The future dock node, completed on the FX thread.
+	 */
+	public static CompletableFuture<DockNode> loadAsync(String FXMLPath, String title, Node graphic,
+			Executor executor) {
+		ClassLoader classLoader = FXMLLoader.getDefaultClassLoader();
+		CompletableFuture<DockNode> dockNode = new CompletableFuture<>();
+
+		CompletableFuture.supplyAsync(() -> {
+			try {
+				return FXMLTemplateCache.load(FXMLPath, classLoader);
+			} catch (Exception e) {
+				// retried on the FX thread, which reports the error if it persists
+				return null;
+			}
+		}, executor).thenAccept(loader -> Platform.runLater(() -> {
+			try {
+				dockNode.complete(new DockNode(loader != null ? loader : loadNode(FXMLPath), title, graphic));
+			} catch (Exception e) {
+				dockNode.completeExceptionally(e);
+			}
+		}));
+		return dockNode;
 	}
 
 	/**
@@ -315,6 +389,8 @@ public class DockNode extends VBox implements EventHandler<MouseEvent> {
 		VBox.setVgrow(contents, Priority.ALWAYS);
 
 		this.getStyleClass().add("dock-node");
+
+		initializeShowing();
 	}
 
 	ContentPane parent;
@@ -370,7 +446,11 @@ public class DockNode extends VBox implements EventHandler<MouseEvent> {
 	 *            The new contents of this dock node.
 	 */
 	public void setContents(Node contents) {
-		this.getChildren().set(this.getChildren().indexOf(this.contents), contents);
+		// detached contents are swapped without entering the scene graph
+		if (!isContentsDetached()) {
+			this.getChildren().set(this.getChildren().indexOf(this.contents), contents);
+		}
+		VBox.setVgrow(contents, Priority.ALWAYS);
 		this.contents = contents;
 	}
 
@@ -438,13 +518,26 @@ public class DockNode extends VBox implements EventHandler<MouseEvent> {
 				this.undock();
 			}
 
-			stage = new Stage();
+			// reuse the stage and scene left over from the last float unless
+			// the style changed in the meantime, which a stage cannot follow
+			cancelFloatingStageRelease();
+			boolean reuseStage = stage != null && stage.getStyle() == stageStyle;
+			if (!reuseStage) {
+				releaseFloatingStage();
+
+				stage = new Stage();
+				stage.titleProperty().bind(titleProperty);
+				stage.initStyle(stageStyle);
+				stage.setOnCloseRequest(r -> close());
+				// iconifying the window from the system counts as minimizing
+				stage.iconifiedProperty().addListener((observable, oldValue, newValue) -> {
+					if (isFloating()) {
+						minimizedProperty.set(newValue);
+					}
+				});
+			}
 			stage.setAlwaysOnTop(dockTitleBar.isAlwaysOnTop());
 
-			stage.titleProperty().bind(titleProperty);
-
-			stage.initStyle(stageStyle);
-
 			// offset the new stage to cover exactly the area the dock was local
 			// to the scene
 			// this is useful for when the user presses the + sign and we have
@@ -485,11 +578,13 @@ public class DockNode extends VBox implements EventHandler<MouseEvent> {
 			// have a drop shadow effect on the border
 			// but also maintain the layout of contents
 			// such as a tab that has no content
-			borderPane = new BorderPane();
-			borderPane.getStyleClass().add("dock-node-border");
+			if (!reuseStage) {
+				borderPane = new BorderPane();
+				borderPane.getStyleClass().add("dock-node-border");
+			}
 			borderPane.setCenter(this);
 
-			Scene scene = new Scene(borderPane);
+			Scene scene = reuseStage ? stage.getScene() : new Scene(borderPane);
 
 			// apply the floating property so we can get its padding size
 			// while it is floating to offset it by the drop shadow
@@ -506,7 +601,9 @@ public class DockNode extends VBox implements EventHandler<MouseEvent> {
 			double insetsWidth = insetsDelta.getLeft() + insetsDelta.getRight();
 			double insetsHeight = insetsDelta.getTop() + insetsDelta.getBottom();
 
-			stage.setScene(scene);
+			if (!reuseStage) {
+				stage.setScene(scene);
+			}
 
 			stage.setMinWidth(borderPane.minWidth(this.getMinWidth()) + insetsWidth);
 			stage.setMinHeight(borderPane.minHeight(this.getMinHeight()) + insetsHeight);
@@ -539,17 +636,99 @@ public class DockNode extends VBox implements EventHandler<MouseEvent> {
 			stage.sizeToScene();
 
 			stage.show();
-			stage.setOnCloseRequest(r -> close());
+
+			if (dockPane != null) {
+				dockPane.journalFloat(this);
+			}
 		} else if (!floating && this.isFloating()) {
 			this.floatingProperty.set(floating);
+			// only a floating window can be minimized
+			this.minimizedProperty.set(false);
 			// this.setMinimizable(floating);
 
 			stage.removeEventFilter(MouseEvent.MOUSE_PRESSED, this);
 			stage.removeEventFilter(MouseEvent.MOUSE_MOVED, this);
 			stage.removeEventFilter(MouseEvent.MOUSE_DRAGGED, this);
 
-			stage.close();
+			// keep the window around hidden, a node that was docked is likely
+			// to be floated again soon
+			stage.hide();
+			if (borderPane.getCenter() == this) {
+				borderPane.setCenter(null);
+			}
+			scheduleFloatingStageRelease();
+		}
+	}
+
+	/**
+	 * How long the floating stage of this node is kept hidden for reuse after
+	 * the node has been docked again. A delay of zero releases the stage right
+	 * away and a negative delay keeps it until the node is closed.
+	 * 
+	 * @param delay
+	 *            The release delay in milliseconds.
+	 */
+	public void setFloatingStageReleaseDelay(long delay) {
+		this.floatingStageReleaseDelay = delay;
+	}
+
+	public long getFloatingStageReleaseDelay() {
+		return floatingStageReleaseDelay;
+	}
+
+	private void scheduleFloatingStageRelease() {
+		cancelFloatingStageRelease();
+		if (floatingStageReleaseDelay == 0) {
+			releaseFloatingStage();
+		} else if (floatingStageReleaseDelay > 0) {
+			TimerTask task = new TimerTask() {
+				@Override
+				public void run() {
+					Platform.runLater(() -> {
+						if (floatingStageRelease == this) {
+							floatingStageRelease = null;
+							releaseFloatingStage();
+						}
+					});
+				}
+			};
+			floatingStageRelease = task;
+			getFloatingStageReleaseTimer().schedule(task, floatingStageReleaseDelay);
+		}
+	}
+
+	private void cancelFloatingStageRelease() {
+		if (floatingStageRelease != null) {
+			floatingStageRelease.cancel();
+			floatingStageRelease = null;
+		}
+	}
+
+	/**
+	 * Drops the hidden floating stage and its scene so they can be garbage
+	 * collected. Does nothing while the node is floating.
+	 */
+	void releaseFloatingStage() {
+		cancelFloatingStageRelease();
+		if (stage == null || isFloating()) {
+			return;
+		}
+
+		stage.titleProperty().unbind();
+		stage.setOnCloseRequest(null);
+		stage.close();
+		if (borderPane.getCenter() == this) {
+			borderPane.setCenter(null);
+		}
+		stage = null;
+		borderPane = null;
+	}
+
+	private static synchronized Timer getFloatingStageReleaseTimer() {
+		if (floatingStageReleaseTimer == null) {
+			floatingStageReleaseTimer = new Timer("DockFX floating stage release", true);
 		}
+		return floatingStageReleaseTimer;
 	}
 
 	/**
@@ -813,6 +992,11 @@ public class DockNode extends VBox implements EventHandler<MouseEvent> {
 	}
 
 	private BooleanProperty minimizedProperty = new SimpleBooleanProperty(false) {
+		@Override
+		protected void invalidated() {
+			updateContentsDetached();
+		}
+
 		@Override
 		public String getName() {
 			return "minimized";
@@ -941,6 +1125,10 @@ public class DockNode extends VBox implements EventHandler<MouseEvent> {
 				if (get()) {
 					getChildren().remove(dockTitleBar);
 				} else {
+					// take the title bar back from the tab before showing it again
+					if (dockNodeTab != null) {
+						dockNodeTab.detach();
+					}
 					getChildren().add(0, dockTitleBar);
 				}
 			}
@@ -966,6 +1154,7 @@ public class DockNode extends VBox implements EventHandler<MouseEvent> {
 	private BooleanProperty closedProperty = new SimpleBooleanProperty(false) {
 		@Override
 		protected void invalidated() {
+			updateContentsDetached();
 		}
 
 		@Override
@@ -978,6 +1167,180 @@ public class DockNode extends VBox implements EventHandler<MouseEvent> {
 		return closedProperty.get();
 	}
 
+	/**
+	 * Whether the contents are taken out of the scene graph while this node is
+	 * minimized or closed.
+	 */
+	private boolean detachContentsWhenHidden = false;
+
+	/**
+	 * Boolean property maintaining whether the contents of this node are
+	 * currently detached from the scene graph.
+	 * 
+	 * @defaultValue false
+	 */
+	public final ReadOnlyBooleanProperty contentsDetachedProperty() {
+		return contentsDetachedProperty.getReadOnlyProperty();
+	}
+
+	private ReadOnlyBooleanWrapper contentsDetachedProperty = new ReadOnlyBooleanWrapper(false) {
+		@Override
+		protected void invalidated() {
+			if (viewController != null) {
+				if (get()) {
+					viewController.onContentsDetached();
+				} else {
+					viewController.onContentsAttached();
+				}
+			}
+		}
+
+		@Override
+		public String getName() {
+			return "contentsDetached";
+		}
+	};
+
+	public final boolean isContentsDetached() {
+		return contentsDetachedProperty.get();
+	}
+
+	public final boolean isDetachContentsWhenHidden() {
+		return detachContentsWhenHidden;
+	}
+
+	/**
+	 * Whether the contents are taken out of the scene graph while this node is
+	 * minimized or closed, so that they no longer take part in CSS and layout
+	 * passes. They are put back when the node is restored. The view
+	 * controller and the handlers added with
+	 * {@link #addOnContentsDetachedHandler(Runnable)} are told about both, so
+	 * the contents can release and recreate textures, timers or models.
+	 * 
+	 * @param detachContentsWhenHidden
+	 *            Whether the contents are detached while hidden.
+	 */
+	public final void setDetachContentsWhenHidden(boolean detachContentsWhenHidden) {
+		this.detachContentsWhenHidden = detachContentsWhenHidden;
+		updateContentsDetached();
+	}
+
+	private void updateContentsDetached() {
+		boolean detached = detachContentsWhenHidden && (isClosed() || isMinimized());
+		if (detached == isContentsDetached()) {
+			return;
+		}
+
+		if (detached) {
+			getChildren().remove(contents);
+		} else {
+			getChildren().add(contents);
+		}
+		contentsDetachedProperty.set(detached);
+	}
+
+	/**
+	 * Boolean property maintaining whether this node can currently be seen:
+	 * it is in a showing window that is not minimized, neither it nor any of
+	 * its ancestors is invisible, its tab is selected if it is tabbed and its
+	 * layout bounds are not empty. Contents that update themselves
+	 * continuously, like live plots, can pause while it is false.
+	 * 
+	 * @defaultValue false
+	 */
+	public final ReadOnlyBooleanProperty showingProperty() {
+		return showingProperty.getReadOnlyProperty();
+	}
+
+	private ReadOnlyBooleanWrapper showingProperty = new ReadOnlyBooleanWrapper(false) {
+		@Override
+		public String getName() {
+			return "showing";
+		}
+	};
+
+	public final boolean isShowing() {
+		return showingProperty.get();
+	}
+
+	/**
+	 * Recomputes the showing state when one of its inputs changes.
+	 */
+	private final InvalidationListener showingListener = observable -> updateShowing();
+	/**
+	 * Moves the showing listeners over when the chain of ancestors, the scene,
+	 * the window or the tab of this node changes.
+	 */
+	private final InvalidationListener showingChainListener = observable -> {
+		hookShowing();
+		updateShowing();
+	};
+	/**
+	 * The observables of the current chain that the showing listeners are
+	 * attached to.
+	 */
+	private final List<Observable> showingObservables = new ArrayList<>();
+
+	private void initializeShowing() {
+		visibleProperty().addListener(showingListener);
+		layoutBoundsProperty().addListener(showingListener);
+		minimizedProperty.addListener(showingListener);
+		closedProperty.addListener(showingListener);
+		parentProperty().addListener(showingChainListener);
+		sceneProperty().addListener(showingChainListener);
+		tabbedProperty.addListener(showingChainListener);
+		hookShowing();
+		updateShowing();
+	}
+
+	private void hookShowing() {
+		for (Observable observable : showingObservables) {
+			observable.removeListener(showingListener);
+			observable.removeListener(showingChainListener);
+		}
+		showingObservables.clear();
+
+		for (Node ancestor = getParent(); ancestor != null; ancestor = ancestor.getParent()) {
+			hookShowing(ancestor.visibleProperty(), showingListener);
+			hookShowing(ancestor.parentProperty(), showingChainListener);
+		}
+		if (getScene() != null) {
+			hookShowing(getScene().windowProperty(), showingChainListener);
+			Window window = getScene().getWindow();
+			if (window != null) {
+				hookShowing(window.showingProperty(), showingListener);
+				if (window instanceof Stage) {
+					hookShowing(((Stage) window).iconifiedProperty(), showingListener);
+				}
+			}
+		}
+		if (isTabbed() && dockNodeTab != null) {
+			hookShowing(dockNodeTab.selectedProperty(), showingListener);
+		}
+	}
+
+	private void hookShowing(Observable observable, InvalidationListener listener) {
+		observable.addListener(listener);
+		showingObservables.add(observable);
+	}
+
+	private void updateShowing() {
+		boolean showing = !isClosed() && !isMinimized() && isVisible() && getLayoutBounds().getWidth() > 0
+				&& getLayoutBounds().getHeight() > 0;
+		if (showing && isTabbed() && dockNodeTab != null) {
+			showing = dockNodeTab.isSelected();
+		}
+		if (showing) {
+			Window window = getScene() != null ? getScene().getWindow() : null;
+			showing = window != null && window.isShowing()
+					&& !(window instanceof Stage && ((Stage) window).isIconified());
+		}
+		for (Node ancestor = getParent(); showing && ancestor != null; ancestor = ancestor.getParent()) {
+			showing = ancestor.isVisible();
+		}
+		showingProperty.set(showing);
+	}
+
 	private DockPos lastDockPos;
 
 	public DockPos getLastDockPos() {
@@ -1070,6 +1433,11 @@ public class DockNode extends VBox implements EventHandler<MouseEvent> {
 		if (isFloating()) {
 			setFloating(false);
 		}
+		// a floating node moving over to another dock pane, i.e. a floating
+		// host window, is no longer an undocked node of the previous one
+		if (this.dockPane != null && this.dockPane != dockPane) {
+			this.dockPane.remove(this);
+		}
 		this.dockPane = dockPane;
 		this.dockedProperty.set(true);
 		this.closedProperty.set(false);
@@ -1080,6 +1448,17 @@ public class DockNode extends VBox implements EventHandler<MouseEvent> {
 		this.dockedProperty.set(true);
 	}
 
+	/**
+	 * Hands an undocked node over to another dock pane without docking it,
+	 * used when a layout moves nodes between floating host windows.
+	 * 
+	 * @param pane
+	 *            The dock pane now owning this node.
+	 */
+	void setOwnerDockPane(DockPane pane) {
+		dockPane = pane;
+	}
+
 	/**
 	 * Detach this node from its previous dock pane if it was previously docked.
 	 */
@@ -1101,7 +1480,11 @@ public class DockNode extends VBox implements EventHandler<MouseEvent> {
 		} else if (isDocked()) {
 			undock();
 		}
+		releaseFloatingStage();
 		this.closedProperty.set(true);
+		if (dockPane != null) {
+			dockPane.journalClose(this);
+		}
 		if (isRemoveOnClose()) {
 			dockPane.remove(this);
 		}
@@ -1125,7 +1508,18 @@ public class DockNode extends VBox implements EventHandler<MouseEvent> {
 	/**
 	 * The last position of the mouse that was within the minimum layout bounds.
 	 */
-	private Point2D sizeLast;
+	private double sizeLastX, sizeLastY;
+	/**
+	 * The stage geometry requested by resize events since the last pulse. Only
+	 * valid while a resize is pending.
+	 */
+	private double pendingX, pendingY, pendingWidth, pendingHeight;
+	private boolean resizePending;
+	/**
+	 * Applies the pending resize geometry to the stage once per pulse and stops
+	 * itself again, created on the first resize.
+	 */
+	private AnimationTimer resizePulse;
 	/**
 	 * Whether we are currently resizing in a given direction.
 	 */
@@ -1150,7 +1544,8 @@ public class DockNode extends VBox implements EventHandler<MouseEvent> {
 		}
 
 		if (event.getEventType() == MouseEvent.MOUSE_PRESSED) {
-			sizeLast = new Point2D(event.getScreenX(), event.getScreenY());
+			sizeLastX = event.getScreenX();
+			sizeLastY = event.getScreenY();
 		} else if (event.getEventType() == MouseEvent.MOUSE_MOVED) {
 			Insets insets = borderPane.getPadding();
 			int tolerance = 6;
@@ -1184,47 +1579,55 @@ public class DockNode extends VBox implements EventHandler<MouseEvent> {
 
 			this.getScene().setCursor(cursor);
 		} else if (event.getEventType() == MouseEvent.MOUSE_DRAGGED && this.isMouseResizeZone()) {
-			Point2D sizeCurrent = new Point2D(event.getScreenX(), event.getScreenY());
-			Point2D sizeDelta = sizeCurrent.subtract(sizeLast);
+			// several drag events can arrive within one pulse, so they are
+			// accumulated here and the stage is only updated once per pulse
+			if (!resizePending) {
+				pendingX = stage.getX();
+				pendingY = stage.getY();
+				pendingWidth = stage.getWidth();
+				pendingHeight = stage.getHeight();
+				resizePending = true;
+				if (resizePulse == null) {
+					resizePulse = new AnimationTimer() {
+						@Override
+						public void handle(long now) {
+							applyPendingResize();
+						}
+					};
+				}
+				resizePulse.start();
+			}
 
-			double newX = stage.getX(), newY = stage.getY(), newWidth = stage.getWidth(), newHeight = stage.getHeight();
+			double sizeCurrentX = event.getScreenX(), sizeCurrentY = event.getScreenY();
+			double deltaX = sizeCurrentX - sizeLastX, deltaY = sizeCurrentY - sizeLastY;
+			double newX = pendingX, newY = pendingY, newWidth = pendingWidth, newHeight = pendingHeight;
 
 			if (sizeNorth) {
-				newHeight -= sizeDelta.getY();
-				newY += sizeDelta.getY();
+				newHeight -= deltaY;
+				newY += deltaY;
 			} else if (sizeSouth) {
-				newHeight += sizeDelta.getY();
+				newHeight += deltaY;
 			}
 
 			if (sizeWest) {
-				newWidth -= sizeDelta.getX();
-				newX += sizeDelta.getX();
+				newWidth -= deltaX;
+				newX += deltaX;
 			} else if (sizeEast) {
-				newWidth += sizeDelta.getX();
+				newWidth += deltaX;
 			}
 
-			// TODO: find a way to do this synchronously and eliminate the
-			// flickering of moving the stage
-			// around, also file a bug report for this feature if a work around
-			// can not be found this
-			// primarily occurs when dragging north/west but it also appears in
-			// native windows and Visual
-			// Studio, so not that big of a concern.
-			// Bug report filed:
-			// https://bugs.openjdk.java.net/browse/JDK-8133332
-			double currentX = sizeLast.getX(), currentY = sizeLast.getY();
 			if (newWidth >= stage.getMinWidth()) {
-				stage.setX(newX);
-				stage.setWidth(newWidth);
-				currentX = sizeCurrent.getX();
+				pendingX = newX;
+				pendingWidth = newWidth;
+				sizeLastX = sizeCurrentX;
 			}
 
 			if (newHeight >= stage.getMinHeight()) {
-				stage.setY(newY);
-				stage.setHeight(newHeight);
-				currentY = sizeCurrent.getY();
+				pendingY = newY;
+				pendingHeight = newHeight;
+				sizeLastY = sizeCurrentY;
 			}
-			sizeLast = new Point2D(currentX, currentY);
+
 			// we do not want the title bar getting these events
 			// while we are actively resizing
 			if (sizeNorth || sizeSouth || sizeWest || sizeEast) {
@@ -1233,6 +1636,36 @@ public class DockNode extends VBox implements EventHandler<MouseEvent> {
 		}
 	}
 
+	/**
+	 * Applies the geometry collected from resize events since the last pulse.
+	 * Moving the stage while resizing north or west can still flicker on some
+	 * platforms, but at most once per pulse instead of once per event.
+	 * https://bugs.openjdk.java.net/browse/JDK-8133332
+	 */
+	private void applyPendingResize() {
+		resizePulse.stop();
+		if (!resizePending) {
+			return;
+		}
+		resizePending = false;
+		if (stage == null || !isFloating()) {
+			return;
+		}
+
+		if (stage.getX() != pendingX) {
+			stage.setX(pendingX);
+		}
+		if (stage.getY() != pendingY) {
+			stage.setY(pendingY);
+		}
+		if (stage.getWidth() != pendingWidth) {
+			stage.setWidth(pendingWidth);
+		}
+		if (stage.getHeight() != pendingHeight) {
+			stage.setHeight(pendingHeight);
+		}
+	}
+
 	public DockNode dockBack() {
 
 		setMaximized(false);
@@ -1282,17 +1715,91 @@ public class DockNode extends VBox implements EventHandler<MouseEvent> {
 		return null;
 	}
 
+	/**
+	 * Removes the listeners of the handlers added to this node, run when it is
+	 * disposed.
+	 */
+	private final List<Runnable> handlerRemovals = new ArrayList<>();
+
+	private void addHandler(ObservableValue<Boolean> state, boolean value, Runnable handler) {
+		ChangeListener<Boolean> listener = (o, ov, nv) -> {
+			if (nv == value) {
+				handler.run();
+			}
+		};
+		state.addListener(listener);
+		handlerRemovals.add(() -> state.removeListener(listener));
+	}
+
 	public DockNode addOnCloseHandler(Runnable onClose) {
 		if (onClose != null) {
-			this.closedProperty.addListener((o, ov, nv) -> {
-				if (nv) {
-					onClose.run();
-				}
-			});
+			addHandler(this.closedProperty, true, onClose);
 		}
 		return this;
 	}
 
+	public DockNode addOnContentsDetachedHandler(Runnable onDetached) {
+		if (onDetached != null) {
+			addHandler(this.contentsDetachedProperty, true, onDetached);
+		}
+		return this;
+	}
+
+	public DockNode addOnContentsAttachedHandler(Runnable onAttached) {
+		if (onAttached != null) {
+			addHandler(this.contentsDetachedProperty, false, onAttached);
+		}
+		return this;
+	}
+
+	/**
+	 * Closes this node for good and releases everything it holds on to and
+	 * everything holding on to it: the floating stage, the tab and its title
+	 * binding, the title bar with its context menu and bindings, the handlers
+	 * added to this node, the listeners following its visibility and its
+	 * entries in the dock pane. The contents are removed so they can be reused
+	 * elsewhere. A disposed node must not be used again.
+	 */
+	public void dispose() {
+		if (!isClosed()) {
+			close();
+		}
+		releaseFloatingStage();
+
+		for (Runnable removal : handlerRemovals) {
+			removal.run();
+		}
+		handlerRemovals.clear();
+
+		if (dockPane != null) {
+			dockPane.forget(this);
+			dockPane = null;
+		}
+		if (dockNodeTab != null) {
+			dockNodeTab.detach();
+			dockNodeTab = null;
+		}
+
+		for (Observable observable : showingObservables) {
+			observable.removeListener(showingListener);
+			observable.removeListener(showingChainListener);
+		}
+		showingObservables.clear();
+		parentProperty().removeListener(showingChainListener);
+		sceneProperty().removeListener(showingChainListener);
+
+		if (dockTitleBar != null) {
+			dockTitleBar.dispose();
+		}
+		if (viewController != null) {
+			viewController.setDockTitleBar(null);
+			viewController = null;
+		}
+		getChildren().clear();
+		lastDockSibling = null;
+		parent = null;
+	}
+
 	public DockNode replaceWith(DockNode mainNode) {
 		if (!isClosed()) {
 			if (isFloating()) {
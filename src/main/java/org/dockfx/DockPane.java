@@ -20,9 +20,8 @@
 
 package org.dockfx;
 
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
 import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.ObservableMap;
@@ -30,16 +29,17 @@ import javafx.css.PseudoClass;
 import javafx.event.EventHandler;
 import javafx.geometry.Orientation;
 import javafx.geometry.Point2D;
-import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.Parent;
+import javafx.scene.Scene;
 import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.Tab;
+import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.StackPane;
 import javafx.scene.shape.Rectangle;
-import javafx.stage.Popup;
 import javafx.stage.Stage;
-import javafx.util.Duration;
 
 import org.dockfx.model.DockNodeProperty;
 import org.dockfx.pane.ContentPane;
@@ -51,6 +51,10 @@ import java.beans.XMLDecoder;
 import java.beans.XMLEncoder;
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 /**
  * Base class for a dock pane that provides the layout of the dock nodes.
@@ -99,43 +103,13 @@ public class DockPane extends StackPane implements EventHandler<DockEvent> {
 	 */
 	private DockPos dockPosDrag;
 
-	/**
-	 * The docking area shape with a dotted animated border on the indicator
-	 * overlay popup.
-	 */
-	private Rectangle dockAreaIndicator;
-	/**
-	 * The timeline used to animate the borer of the docking area indicator
-	 * shape. Because JavaFX has no CSS styling for timelines/animations yet we
-	 * will make this private and offer an accessor for the user to
-	 * programmatically modify the animation or disable it.
-	 */
-	private Timeline dockAreaStrokeTimeline;
-	/**
-	 * The popup used to display the root dock indicator buttons and the docking
-	 * area indicator.
-	 */
-	private Popup dockIndicatorOverlay;
-
-	/**
-	 * The grid pane used to lay out the local dock indicator buttons. This is
-	 * the grid used to lay out the buttons in the circular indicator.
-	 */
-	private GridPane dockPosIndicator;
-	/**
-	 * The popup used to display the local dock indicator buttons. This allows
-	 * these indicator buttons to be displayed outside the window of this dock
-	 * pane.
-	 */
-	private Popup dockIndicatorPopup;
-
 	/**
 	 * Base class for a dock indicator button that allows it to be displayed
 	 * during a dock event and continue to receive input.
 	 *
 	 * @since DockFX 0.1
 	 */
-	public class DockPosButton extends Button {
+	public static class DockPosButton extends Button {
 
 		/**
 		 * Whether this dock indicator button is used for docking a node
@@ -199,12 +173,6 @@ public class DockPane extends StackPane implements EventHandler<DockEvent> {
 		}
 	}
 
-	/**
-	 * A collection used to manage the indicator buttons and automate hit
-	 * detection during DOCK_OVER events.
-	 */
-	private ObservableList<DockPosButton> dockPosButtons;
-
 	private ObservableList<DockNode> undockedNodes;
 
 	public List<DockNode> getUndockedNodes() {
@@ -212,8 +180,130 @@ public class DockPane extends StackPane implements EventHandler<DockEvent> {
 	}
 
 	/**
-	 * Creates a new DockPane adding event handlers for dock events and creating
-	 * the indicator overlays.
+	 * The default size in bytes after which the layout journal is compacted
+	 * into its snapshot file.
+	 */
+	public static final long DEFAULT_JOURNAL_COMPACTION_THRESHOLD = 64 * 1024;
+
+	/**
+	 * The journal that layout changes are appended to, null if journal mode is
+	 * disabled.
+	 */
+	private LayoutJournal journal;
+
+	/**
+	 * Whether a compaction of the journal has been scheduled and not yet run.
+	 */
+	private boolean journalCompactionPending;
+
+	/**
+	 * The divider positions last written to the journal for each split pane.
+	 */
+	private final Map<ContentSplitPane, double[]> journaledDividers = new WeakHashMap<>();
+
+	/**
+	 * The executor the contents of asynchronously restored dock nodes are
+	 * built on.
+	 */
+	private Executor restoreExecutor = ForkJoinPool.commonPool();
+
+	/**
+	 * Whether dock nodes in unselected tabs are only opened once their tab is
+	 * selected when a layout is loaded.
+	 */
+	private boolean lazyTabRestore = false;
+
+	/**
+	 * The placeholders of lazily restored tabs that have not been opened yet,
+	 * with the handler that opens them.
+	 */
+	private final Map<DockNode, DelayOpenHandler> lazyPlaceholders = new HashMap<>();
+
+	/**
+	 * Whether the tab panes of this dock pane only keep the content of the
+	 * selected tab in the scene graph.
+	 */
+	private boolean detachUnselectedTabs = false;
+
+	/**
+	 * The number of recently selected tabs that stay attached in each tab pane
+	 * besides the selected one.
+	 */
+	private int warmTabCacheSize = 0;
+
+	/**
+	 * Whether the tab panes of this dock pane cull the tab headers outside of
+	 * their visible header strip.
+	 */
+	private boolean virtualizedTabHeaders = false;
+
+	/**
+	 * Whether the tab panes of this dock pane keep snapshots of tab contents
+	 * for thumbnails and switch previews.
+	 */
+	private boolean tabSnapshots = false;
+
+	/**
+	 * How dividers of the split panes of this dock pane follow the mouse, for
+	 * split panes that do not set their own mode.
+	 */
+	private ContentSplitPane.DividerDragMode dividerDragMode = ContentSplitPane.DividerDragMode.LIVE;
+
+	/**
+	 * The interval in milliseconds at which dividers move at most in THROTTLED
+	 * mode, for split panes that do not set their own throttle.
+	 */
+	private long dividerDragThrottle = 50;
+
+	/**
+	 * Whether the dock indicators are rendered in a layer inside the scene of
+	 * this dock pane instead of in popup windows.
+	 */
+	private boolean inSceneIndicators = false;
+
+	/**
+	 * The dock pane that created the floating host window this dock pane is
+	 * the root of, null if this dock pane is not a floating host.
+	 */
+	private DockPane hostOwner;
+
+	/**
+	 * The floating host windows created by this dock pane, each represented by
+	 * the dock pane at its root.
+	 */
+	private final ObservableList<DockPane> floatingHosts = FXCollections.observableArrayList();
+
+	/**
+	 * A layout that was switched away from and is kept alive out of the scene
+	 * graph, including its containers and tab skins, so that switching back is
+	 * only a reattach.
+	 */
+	private static class Perspective {
+		private Node root;
+		private List<DockNode> undockedNodes;
+		private List<DockNode> hiddenFloatingNodes;
+		private Map<Node, DockNodeEventHandler> dockNodeEventFilters;
+	}
+
+	/**
+	 * The name of the perspective currently shown, null if it has none.
+	 */
+	private String perspectiveName;
+
+	/**
+	 * The maximum number of perspectives kept in memory.
+	 */
+	private int maxCachedPerspectives = 3;
+
+	/**
+	 * The cached perspectives in least recently used order.
+	 */
+	private final LinkedHashMap<String, Perspective> perspectives = new LinkedHashMap<>(16, 0.75f, true);
+
+	/**
+	 * Creates a new DockPane adding event handlers for dock events. The
+	 * indicator overlays are shared by all dock panes and created on the first
+	 * drag.
 	 */
 	public DockPane() {
 		super();
@@ -233,81 +323,14 @@ public class DockPane extends StackPane implements EventHandler<DockEvent> {
 
 		});
 
-		dockIndicatorPopup = new Popup();
-		dockIndicatorPopup.setAutoFix(false);
-
-		dockIndicatorOverlay = new Popup();
-		dockIndicatorOverlay.setAutoFix(false);
-
-		StackPane dockRootPane = new StackPane();
-		dockRootPane.prefWidthProperty().bind(this.widthProperty());
-		dockRootPane.prefHeightProperty().bind(this.heightProperty());
-
-		dockAreaIndicator = new Rectangle();
-		dockAreaIndicator.setManaged(false);
-		dockAreaIndicator.setMouseTransparent(true);
-
-		dockAreaStrokeTimeline = new Timeline();
-		dockAreaStrokeTimeline.setCycleCount(Timeline.INDEFINITE);
-		// 12 is the cumulative offset of the stroke dash array in the
-		// default.css style sheet
-		// RFE filed for CSS styled timelines/animations:
-		// https://bugs.openjdk.java.net/browse/JDK-8133837
-		KeyValue kv = new KeyValue(dockAreaIndicator.strokeDashOffsetProperty(), 12);
-		KeyFrame kf = new KeyFrame(Duration.millis(500), kv);
-		dockAreaStrokeTimeline.getKeyFrames().add(kf);
-		dockAreaStrokeTimeline.play();
-
-		DockPosButton dockCenter = new DockPosButton(false, DockPos.CENTER);
-		dockCenter.getStyleClass().add("dock-center");
-
-		DockPosButton dockTop = new DockPosButton(false, DockPos.TOP);
-		dockTop.getStyleClass().add("dock-top");
-		DockPosButton dockRight = new DockPosButton(false, DockPos.RIGHT);
-		dockRight.getStyleClass().add("dock-right");
-		DockPosButton dockBottom = new DockPosButton(false, DockPos.BOTTOM);
-		dockBottom.getStyleClass().add("dock-bottom");
-		DockPosButton dockLeft = new DockPosButton(false, DockPos.LEFT);
-		dockLeft.getStyleClass().add("dock-left");
-
-		DockPosButton dockTopRoot = new DockPosButton(true, DockPos.TOP);
-		StackPane.setAlignment(dockTopRoot, Pos.TOP_CENTER);
-		dockTopRoot.getStyleClass().add("dock-top-root");
-
-		DockPosButton dockRightRoot = new DockPosButton(true, DockPos.RIGHT);
-		StackPane.setAlignment(dockRightRoot, Pos.CENTER_RIGHT);
-		dockRightRoot.getStyleClass().add("dock-right-root");
-
-		DockPosButton dockBottomRoot = new DockPosButton(true, DockPos.BOTTOM);
-		StackPane.setAlignment(dockBottomRoot, Pos.BOTTOM_CENTER);
-		dockBottomRoot.getStyleClass().add("dock-bottom-root");
-
-		DockPosButton dockLeftRoot = new DockPosButton(true, DockPos.LEFT);
-		StackPane.setAlignment(dockLeftRoot, Pos.CENTER_LEFT);
-		dockLeftRoot.getStyleClass().add("dock-left-root");
-
-		// TODO: dockCenter goes first when tabs are added in a future version
-		dockPosButtons = FXCollections.observableArrayList(dockCenter, dockTop, dockRight, dockBottom, dockLeft,
-				dockTopRoot, dockRightRoot, dockBottomRoot, dockLeftRoot);
-
-		dockPosIndicator = new GridPane();
-		dockPosIndicator.add(dockTop, 1, 0);
-		dockPosIndicator.add(dockRight, 2, 1);
-		dockPosIndicator.add(dockBottom, 1, 2);
-		dockPosIndicator.add(dockLeft, 0, 1);
-		dockPosIndicator.add(dockCenter, 1, 1);
-
-		dockRootPane.getChildren().addAll(dockAreaIndicator, dockTopRoot, dockRightRoot, dockBottomRoot, dockLeftRoot);
-
-		dockIndicatorOverlay.getContent().add(dockRootPane);
-		dockIndicatorPopup.getContent().addAll(dockPosIndicator);
-
 		this.getStyleClass().add("dock-pane");
-		dockRootPane.getStyleClass().add("dock-root-pane");
-		dockPosIndicator.getStyleClass().add("dock-pos-indicator");
-		dockAreaIndicator.getStyleClass().add("dock-area-indicator");
 
 		undockedNodes = FXCollections.observableArrayList();
+
+		// divider drags end with a mouse release somewhere inside this pane,
+		// split panes dragging in outline mode apply the position while
+		// handling it
+		this.addEventFilter(MouseEvent.MOUSE_RELEASED, event -> Platform.runLater(this::journalDividers));
 	}
 
 	/**
@@ -332,15 +355,37 @@ public class DockPane extends StackPane implements EventHandler<DockEvent> {
 		this.exclusive = exclusive;
 	}
 
+	public boolean isInSceneIndicators() {
+		return inSceneIndicators;
+	}
+
+	/**
+	 * Sets whether the dock indicators are rendered in a layer inside the
+	 * scene of this dock pane. By default they are shown in transparent popup
+	 * windows over the dock pane, which have to be created and composited by
+	 * the window system. That is expensive on X11 without a compositor and
+	 * over remote desktop connections. In-scene indicators are drawn within
+	 * the bounds of this dock pane. They are only used while the dragged node
+	 * is in the same window as this dock pane, a floating window dragged over
+	 * it would cover them, so the popups are still used for those drags.
+	 *
+	 * @param inSceneIndicators
+	 *            whether the dock indicators are rendered in-scene
+	 */
+	public void setInSceneIndicators(boolean inSceneIndicators) {
+		this.inSceneIndicators = inSceneIndicators;
+	}
+
 	/**
 	 * The Timeline used to animate the docking area indicator in the dock
-	 * indicator overlay for this dock pane.
+	 * indicator overlay. The overlay is shared by all dock panes, and so is
+	 * this timeline.
 	 *
 	 * @return The Timeline used to animate the docking area indicator in the
-	 *         dock indicator overlay for this dock pane.
+	 *         dock indicator overlay.
 	 */
 	public final Timeline getDockAreaStrokeTimeline() {
-		return dockAreaStrokeTimeline;
+		return DockIndicators.get().dockAreaStrokeTimeline;
 	}
 
 	/**
@@ -416,6 +461,15 @@ public class DockPane extends StackPane implements EventHandler<DockEvent> {
 	 *            The sibling of this node in the layout.
 	 */
 	void dock(Node node, DockPos dockPos, Node sibling) {
+		if (lazyPlaceholders.containsKey(node)) {
+			node = openPlaceholder((DockNode) node);
+		}
+
+		if (journal != null && node instanceof DockNode) {
+			appendJournal(LayoutJournal.DOCK, ((DockNode) node).getSettingName(), dockPos.name(),
+					journalReference(sibling));
+		}
+
 		DockNodeEventHandler dockNodeEventHandler = new DockNodeEventHandler(node);
 		dockNodeEventFilters.put(node, dockNodeEventHandler);
 		node.addEventFilter(DockEvent.DOCK_OVER, dockNodeEventHandler);
@@ -450,10 +504,10 @@ public class DockPane extends StackPane implements EventHandler<DockEvent> {
 				DockNode siblingNode = (DockNode) sibling;
 				DockNode newNode = (DockNode) node;
 
-				ContentTabPane tabPane = new ContentTabPane();
+				ContentTabPane tabPane = newTabPane();
 
-				tabPane.addDockNodeTab(new DockNodeTab(siblingNode));
-				tabPane.addDockNodeTab(new DockNodeTab(newNode));
+				tabPane.addDockNodeTab(DockNodeTab.of(siblingNode));
+				tabPane.addDockNodeTab(DockNodeTab.of(newNode));
 
 				tabPane.setContentParent(pane);
 
@@ -532,6 +586,7 @@ public class DockPane extends StackPane implements EventHandler<DockEvent> {
 		// Add a node to the proper pane
 		pane.addNode(root, sibling, node, dockPos);
 		refreshDocksLastPosition((ContentPane) root);
+		journalDividers();
 	}
 
 	private void refreshDocksLastPosition(ContentPane pane) {
@@ -571,6 +626,10 @@ public class DockPane extends StackPane implements EventHandler<DockEvent> {
 			return;
 		undockedNodes.add(node);
 
+		if (journal != null) {
+			appendJournal(LayoutJournal.UNDOCK, node.getSettingName());
+		}
+
 		DockNodeEventHandler dockNodeEventHandler = dockNodeEventFilters.get(node);
 		node.removeEventFilter(DockEvent.DOCK_OVER, dockNodeEventHandler);
 		dockNodeEventFilters.remove(node);
@@ -608,6 +667,8 @@ public class DockPane extends StackPane implements EventHandler<DockEvent> {
 			}
 		}
 		refreshDocksLastPosition((ContentPane) root);
+		journalDividers();
+		checkFloatingHost();
 	}
 
 	@Override
@@ -615,7 +676,8 @@ public class DockPane extends StackPane implements EventHandler<DockEvent> {
 		// handle exclusive mode.
 		DockPane otherPane = ((DockNode) event.getContents()).getDockPane();
 
-		if (otherPane != this) {
+		// floating host windows belong to the dock pane that created them
+		if (otherPane != this && (otherPane == null || otherPane.getHostRoot() != getHostRoot())) {
 			if (isExclusive()) {
 				// Can't accept nodes from other dock panes.
 				return;
@@ -627,8 +689,17 @@ public class DockPane extends StackPane implements EventHandler<DockEvent> {
 			}
 		}
 
+		// the indicators are shared by all dock panes and follow the one
+		// being dragged over
+		DockIndicators indicators = DockIndicators.get();
+		if (event.getEventType() == DockEvent.DOCK_ENTER || event.getEventType() == DockEvent.DOCK_OVER) {
+			indicators.retarget(this, (DockNode) event.getContents());
+		}
+		GridPane dockPosIndicator = indicators.dockPosIndicator;
+		Rectangle dockAreaIndicator = indicators.dockAreaIndicator;
+
 		if (event.getEventType() == DockEvent.DOCK_ENTER) {
-			if (!dockIndicatorOverlay.isShowing()) {
+			if (!indicators.isOverlayShowing()) {
 				Point2D originToScreen;
 				if (null != root) {
 					originToScreen = root.localToScreen(0, 0);
@@ -636,7 +707,7 @@ public class DockPane extends StackPane implements EventHandler<DockEvent> {
 					originToScreen = this.localToScreen(0, 0);
 				}
 
-				dockIndicatorOverlay.show(DockPane.this, originToScreen.getX(), originToScreen.getY());
+				indicators.showOverlay(originToScreen.getX(), originToScreen.getY());
 			}
 		} else if (event.getEventType() == DockEvent.DOCK_OVER) {
 			this.receivedEnter = false;
@@ -644,7 +715,7 @@ public class DockPane extends StackPane implements EventHandler<DockEvent> {
 			dockPosDrag = null;
 			dockAreaDrag = dockNodeDrag;
 
-			for (DockPosButton dockIndicatorButton : dockPosButtons) {
+			for (DockPosButton dockIndicatorButton : indicators.dockPosButtons) {
 				if (dockIndicatorButton
 						.contains(dockIndicatorButton.screenToLocal(event.getScreenX(), event.getScreenY()))) {
 					dockPosDrag = dockIndicatorButton.getDockPos();
@@ -658,12 +729,11 @@ public class DockPane extends StackPane implements EventHandler<DockEvent> {
 				}
 			}
 
-			if (dockPosDrag != null && dockAreaDrag != null) {
-				Point2D originToScene = dockAreaDrag.localToScreen(0, 0);
+			if (dockPosDrag != null && dockAreaDrag != null && indicators.isOverlayShowing()) {
+				Point2D originToScene = indicators.dockRootPane.screenToLocal(dockAreaDrag.localToScreen(0, 0));
 
 				dockAreaIndicator.setVisible(true);
-				dockAreaIndicator.relocate(originToScene.getX() - dockIndicatorOverlay.getAnchorX(),
-						originToScene.getY() - dockIndicatorOverlay.getAnchorY());
+				dockAreaIndicator.relocate(originToScene.getX(), originToScene.getY());
 				if (dockPosDrag == DockPos.RIGHT) {
 					dockAreaIndicator.setTranslateX(dockAreaDrag.getLayoutBounds().getWidth() / 2);
 				} else {
@@ -698,14 +768,9 @@ public class DockPane extends StackPane implements EventHandler<DockEvent> {
 				double posY = originToScreen.getY() + dockNodeDrag.getLayoutBounds().getHeight() / 2
 						- dockPosIndicator.getHeight() / 2;
 
-				if (!dockIndicatorPopup.isShowing()) {
-					dockIndicatorPopup.show(DockPane.this, posX, posY);
-				} else {
-					dockIndicatorPopup.setX(posX);
-					dockIndicatorPopup.setY(posY);
-				}
+				indicators.showIndicator(posX, posY);
 
-				// set visible after moving the popup
+				// set visible after moving the indicator
 				dockPosIndicator.setVisible(true);
 			} else {
 				dockPosIndicator.setVisible(false);
@@ -713,7 +778,7 @@ public class DockPane extends StackPane implements EventHandler<DockEvent> {
 		}
 
 		if (event.getEventType() == DockEvent.DOCK_RELEASED && event.getContents() != null) {
-			if (dockPosDrag != null && dockIndicatorOverlay.isShowing()) {
+			if (dockPosDrag != null && indicators.isTarget(this) && indicators.isOverlayShowing()) {
 				DockNode dockNode = (DockNode) event.getContents();
 				dockNode.dock(this, dockPosDrag, dockAreaDrag);
 			}
@@ -721,16 +786,33 @@ public class DockPane extends StackPane implements EventHandler<DockEvent> {
 
 		if ((event.getEventType() == DockEvent.DOCK_EXIT && !this.receivedEnter)
 				|| event.getEventType() == DockEvent.DOCK_RELEASED) {
-			if (dockIndicatorOverlay.isShowing()) {
-				dockIndicatorOverlay.hide();
-			}
-			if (dockIndicatorPopup.isShowing()) {
-				dockIndicatorPopup.hide();
-			}
+			indicators.hide(this);
 		}
 	}
 
 	public void storePreference(String filePath) {
+		HashMap<String, ContentHolder> contents = storeContents();
+
+		// Floating host windows, each with the layout of its own dock pane
+		contents.put("_FloatingHosts", new ContentHolder("_FloatingHosts", ContentHolder.Type.Collection));
+
+		for (int i = 0; i < floatingHosts.size(); i++) {
+			ContentHolder floatingHost = new ContentHolder("" + i, ContentHolder.Type.FloatingHost);
+			floatingHost.addProperty("Contents", floatingHosts.get(i).storeContents());
+
+			contents.get("_FloatingHosts").addChild(floatingHost);
+		}
+
+		storeCollection(filePath, contents);
+
+		// the snapshot now contains every change recorded so far
+		if (journal != null && journal.isFor(filePath)) {
+			journal.truncate();
+			journaledDividers.clear();
+		}
+	}
+
+	private HashMap<String, ContentHolder> storeContents() {
 		ContentPane pane = (ContentPane) root;
 
 		HashMap<String, ContentHolder> contents = new HashMap<>();
@@ -771,7 +853,7 @@ public class DockPane extends StackPane implements EventHandler<DockEvent> {
 		contents.get("_MainWindow").addProperty("Position",
 				new Double[] { this.getScene().getWindow().getX(), this.getScene().getWindow().getY() });
 
-		storeCollection(filePath, contents);
+		return contents;
 	}
 
 	private Object loadCollection(String fileName) {
@@ -852,8 +934,587 @@ public class DockPane extends StackPane implements EventHandler<DockEvent> {
 	public void loadPreference(String filePath, DelayOpenHandler delayOpenHandler) {
 		HashMap<String, ContentHolder> contents = (HashMap<String, ContentHolder>) loadCollection(filePath);
 
-		undockAll();
-		applyPane(contents, (ContentPane) root, delayOpenHandler);
+		if (journal != null) {
+			journal.suspend();
+		}
+		try {
+			undockAll();
+			applyPane(contents, (ContentPane) root, delayOpenHandler);
+
+			if (journal != null && journal.isFor(filePath)) {
+				replayJournal(delayOpenHandler);
+			}
+		} finally {
+			if (journal != null) {
+				journal.resume();
+			}
+		}
+
+		if (journal != null && journal.isFor(filePath) && journal.needsCompaction()) {
+			compactJournal();
+		}
+	}
+
+	/**
+	 * Loads the layout like {@link #loadPreference(String, DelayOpenHandler)},
+	 * but dock nodes that are not present are laid out immediately with
+	 * placeholder contents, captioned with their saved titles. The handler is
+	 * called on the restore executor, so their real contents are built in
+	 * parallel and swapped in on the FX thread as each of them completes.
+	 *
+	 * @param filePath
+	 *            the path of the preference file
+	 * @param asyncDelayOpenHandler
+	 *            the handler building the contents of missing dock nodes
+	 */
+	public void loadPreferenceAsync(String filePath, AsyncDelayOpenHandler asyncDelayOpenHandler) {
+		loadPreference(filePath, new DelayOpenHandler() {
+			@Override
+			public DockNode open(String nodeName) {
+				return openAsync(nodeName, nodeName, asyncDelayOpenHandler);
+			}
+
+			@Override
+			public DockNode open(String nodeName, String title) {
+				return openAsync(nodeName, title, asyncDelayOpenHandler);
+			}
+		});
+	}
+
+	private DockNode openAsync(String nodeName, String title, AsyncDelayOpenHandler asyncDelayOpenHandler) {
+		DockNode node = asyncDelayOpenHandler.createDockNode(nodeName, title);
+		node.setSettingName(nodeName);
+
+		// the handler itself runs on the executor, so a handler that builds
+		// its contents inline does not hold up the restore either
+		Executor executor = restoreExecutor;
+		CompletableFuture.supplyAsync(() -> asyncDelayOpenHandler.open(nodeName, executor), executor)
+				.thenCompose(contents -> contents)
+				.whenComplete((contents, error) -> Platform.runLater(() -> {
+					if (error != null) {
+						error.printStackTrace();
+						node.setContents(new StackPane(new Label("Could not open " + nodeName)));
+					} else if (contents != null) {
+						node.setContents(contents);
+					}
+				}));
+		return node;
+	}
+
+	/**
+	 * Whether dock nodes in unselected tabs are opened lazily when a layout is
+	 * loaded with a {@link DelayOpenHandler}.
+	 *
+	 * @return whether lazy tab restore is enabled
+	 */
+	public boolean isLazyTabRestore() {
+		return lazyTabRestore;
+	}
+
+	/**
+	 * Sets whether dock nodes in unselected tabs are opened lazily when a
+	 * layout is loaded with a {@link DelayOpenHandler}. Such a tab first holds
+	 * a placeholder with the saved title, and the handler is only called once
+	 * the tab is selected. Storing the layout keeps the placeholders in place.
+	 *
+	 * @param lazyTabRestore
+	 *            whether lazy tab restore is enabled
+	 */
+	public void setLazyTabRestore(boolean lazyTabRestore) {
+		this.lazyTabRestore = lazyTabRestore;
+	}
+
+	private DockNode createPlaceholder(DockNodeProperty nodeProperty, DelayOpenHandler delayOpenHandler) {
+		DockNode placeholder = new DockNode(new StackPane(), nodeProperty.getTitle());
+		placeholder.setSettingName(nodeProperty.getSettingName());
+		lazyPlaceholders.put(placeholder, delayOpenHandler);
+		return placeholder;
+	}
+
+	private DockNode openPlaceholder(DockNode placeholder) {
+		DelayOpenHandler delayOpenHandler = lazyPlaceholders.remove(placeholder);
+		DockNode node = delayOpenHandler.open(placeholder.getSettingName(), placeholder.getTitle());
+		node.setTitle(placeholder.getTitle());
+		return node;
+	}
+
+	private void restoreLazyTab(DockNodeTab tab, DockNode placeholder) {
+		// the placeholder may have been opened or dropped in the meantime
+		if (!lazyPlaceholders.containsKey(placeholder) || !tab.isSelected() || tab.getContent() != placeholder
+				|| !(tab.getTabPane() instanceof ContentTabPane))
+			return;
+
+		ContentTabPane tabPane = (ContentTabPane) tab.getTabPane();
+		DockNode node = openPlaceholder(placeholder);
+		node.dockedProperty().set(true);
+		tabPane.set(placeholder, node);
+	}
+
+	/**
+	 * Whether the tab panes of this dock pane detach the contents of unselected
+	 * tabs from the scene graph.
+	 *
+	 * @return whether unselected tabs are detached
+	 */
+	public boolean isDetachUnselectedTabs() {
+		return detachUnselectedTabs;
+	}
+
+	/**
+	 * Sets whether the tab panes of this dock pane detach the contents of
+	 * unselected tabs from the scene graph. Detached dock nodes stay alive and
+	 * are attached again when their tab is selected.
+	 *
+	 * @param detachUnselectedTabs
+	 *            whether unselected tabs are detached
+	 * @see ContentTabPane#setDetachUnselectedTabs(boolean)
+	 */
+	public void setDetachUnselectedTabs(boolean detachUnselectedTabs) {
+		this.detachUnselectedTabs = detachUnselectedTabs;
+		forEachTabPane(root, tabPane -> tabPane.setDetachUnselectedTabs(detachUnselectedTabs));
+	}
+
+	/**
+	 * The number of recently selected tabs that stay attached in each tab pane
+	 * besides the selected one.
+	 *
+	 * @return the warm tab cache size
+	 */
+	public int getWarmTabCacheSize() {
+		return warmTabCacheSize;
+	}
+
+	/**
+	 * Sets the number of recently selected tabs that stay attached in each tab
+	 * pane besides the selected one when unselected tabs are detached.
+	 *
+	 * @param warmTabCacheSize
+	 *            the warm tab cache size
+	 * @see ContentTabPane#setWarmTabCacheSize(int)
+	 */
+	public void setWarmTabCacheSize(int warmTabCacheSize) {
+		this.warmTabCacheSize = warmTabCacheSize;
+		forEachTabPane(root, tabPane -> tabPane.setWarmTabCacheSize(warmTabCacheSize));
+	}
+
+	/**
+	 * Whether the tab panes of this dock pane cull the tab headers outside of
+	 * their visible header strip.
+	 *
+	 * @return whether tab headers are virtualized
+	 */
+	public boolean isVirtualizedTabHeaders() {
+		return virtualizedTabHeaders;
+	}
+
+	/**
+	 * Sets whether the tab panes of this dock pane cull the tab headers outside
+	 * of their visible header strip, which keeps large tab groups cheap to lay
+	 * out and scroll.
+	 *
+	 * @param virtualizedTabHeaders
+	 *            whether tab headers are virtualized
+	 * @see ContentTabPane#setVirtualizedHeaders(boolean)
+	 */
+	public void setVirtualizedTabHeaders(boolean virtualizedTabHeaders) {
+		this.virtualizedTabHeaders = virtualizedTabHeaders;
+		forEachTabPane(root, tabPane -> tabPane.setVirtualizedHeaders(virtualizedTabHeaders));
+	}
+
+	/**
+	 * Whether the tab panes of this dock pane keep snapshots of tab contents.
+	 *
+	 * @return whether tab snapshots are enabled
+	 */
+	public boolean isTabSnapshots() {
+		return tabSnapshots;
+	}
+
+	/**
+	 * Sets whether the tab panes of this dock pane keep snapshots of tab
+	 * contents, shown as hover thumbnails on tab headers and as previews while
+	 * a selected tab lays out.
+	 *
+	 * @param tabSnapshots
+	 *            whether tab snapshots are enabled
+	 * @see ContentTabPane#setTabSnapshots(boolean)
+	 */
+	public void setTabSnapshots(boolean tabSnapshots) {
+		this.tabSnapshots = tabSnapshots;
+		forEachTabPane(root, tabPane -> tabPane.setTabSnapshots(tabSnapshots));
+	}
+
+	/**
+	 * How dividers of the split panes of this dock pane follow the mouse.
+	 *
+	 * @return the divider drag mode
+	 */
+	public ContentSplitPane.DividerDragMode getDividerDragMode() {
+		return dividerDragMode;
+	}
+
+	/**
+	 * Sets how dividers of the split panes of this dock pane follow the mouse
+	 * while dragged, unless a split pane sets its own mode. OUTLINE only moves
+	 * a ghost line and applies the position on release, THROTTLED updates the
+	 * contents at most once per throttle interval.
+	 *
+	 * @param dividerDragMode
+	 *            the divider drag mode
+	 * @see ContentSplitPane#setDividerDragMode(ContentSplitPane.DividerDragMode)
+	 */
+	public void setDividerDragMode(ContentSplitPane.DividerDragMode dividerDragMode) {
+		this.dividerDragMode = dividerDragMode;
+	}
+
+	public long getDividerDragThrottle() {
+		return dividerDragThrottle;
+	}
+
+	/**
+	 * Sets the interval in milliseconds at which dividers move at most in
+	 * THROTTLED mode, unless a split pane sets its own throttle.
+	 *
+	 * @param dividerDragThrottle
+	 *            the throttle interval in milliseconds
+	 */
+	public void setDividerDragThrottle(long dividerDragThrottle) {
+		this.dividerDragThrottle = dividerDragThrottle;
+	}
+
+	private void forEachTabPane(Node node, Consumer<ContentTabPane> action) {
+		if (node instanceof ContentTabPane) {
+			action.accept((ContentTabPane) node);
+		}
+		if (node instanceof ContentPane) {
+			for (Node child : ((ContentPane) node).getChildrenList()) {
+				forEachTabPane(child, action);
+			}
+		}
+	}
+
+	/**
+	 * The executor the contents of asynchronously restored dock nodes are
+	 * built on.
+	 *
+	 * @return the restore executor
+	 */
+	public Executor getRestoreExecutor() {
+		return restoreExecutor;
+	}
+
+	/**
+	 * Sets the executor the contents of asynchronously restored dock nodes are
+	 * built on, the common fork join pool by default.
+	 *
+	 * @param restoreExecutor
+	 *            the restore executor
+	 */
+	public void setRestoreExecutor(Executor restoreExecutor) {
+		this.restoreExecutor = restoreExecutor;
+	}
+
+	/**
+	 * Enables journal mode using the default compaction threshold.
+	 *
+	 * @param filePath
+	 *            the path of the snapshot file the journal belongs to
+	 * @see #enableJournal(String, long)
+	 */
+	public void enableJournal(String filePath) {
+		enableJournal(filePath, DEFAULT_JOURNAL_COMPACTION_THRESHOLD);
+	}
+
+	/**
+	 * Enables journal mode. Instead of rewriting the whole layout file for
+	 * every change, each dock, undock, float, close, divider or selection
+	 * change is appended as a small record to a log next to the snapshot file.
+	 * Loading the snapshot with {@link #loadPreference(String)} replays the log
+	 * on top of it. Once the log passes the given size it is compacted into
+	 * the snapshot, on load or right after the change that crossed it. The pane has to be shown if no snapshot exists yet,
+	 * because one is stored right away.
+	 *
+	 * @param filePath
+	 *            the path of the snapshot file the journal belongs to
+	 * @param compactionThreshold
+	 *            the journal size in bytes after which it is compacted
+	 */
+	public void enableJournal(String filePath, long compactionThreshold) {
+		disableJournal();
+		journal = new LayoutJournal(filePath, compactionThreshold);
+		if (!new File(filePath).exists()) {
+			compactJournal();
+		}
+	}
+
+	/**
+	 * Disables journal mode. The journal file is left as it is.
+	 */
+	public void disableJournal() {
+		if (journal != null) {
+			journal.close();
+			journal = null;
+		}
+		journaledDividers.clear();
+	}
+
+	/**
+	 * Writes the current layout to the snapshot file and empties the journal.
+	 */
+	public void compactJournal() {
+		if (journal != null) {
+			storePreference(journal.getSnapshotPath());
+		}
+	}
+
+	/**
+	 * Appends a record to the journal. Once the journal has passed its
+	 * compaction threshold it is compacted after the change being recorded
+	 * is complete, so a long session that never reloads the layout does not
+	 * grow the journal without bound.
+	 */
+	private void appendJournal(String... fields) {
+		journal.append(fields);
+		if (!journalCompactionPending && journal.needsCompaction()) {
+			journalCompactionPending = true;
+			Platform.runLater(() -> {
+				journalCompactionPending = false;
+				// the snapshot can only be stored while the pane is shown
+				if (journal != null && journal.needsCompaction() && getScene() != null
+						&& getScene().getWindow() != null) {
+					compactJournal();
+				}
+			});
+		}
+	}
+
+	private void replayJournal(DelayOpenHandler delayOpenHandler) {
+		for (String[] record : journal.read()) {
+			try {
+				replayRecord(record, delayOpenHandler);
+			} catch (RuntimeException e) {
+				System.err.println("Could not replay journal record " + String.join(" ", record));
+				e.printStackTrace();
+			}
+		}
+	}
+
+	private void replayRecord(String[] record, DelayOpenHandler delayOpenHandler) {
+		switch (record[0]) {
+		case LayoutJournal.DOCK: {
+			DockNode node = findDockNode(record[1], delayOpenHandler);
+			if (node != null) {
+				Node sibling = resolveReference(record[3]);
+				node.dock(this, DockPos.valueOf(record[2]), sibling != null ? sibling : root);
+			}
+			break;
+		}
+		case LayoutJournal.UNDOCK: {
+			DockNode node = findDockNode(record[1], null);
+			if (node != null) {
+				node.undock();
+			}
+			break;
+		}
+		case LayoutJournal.FLOAT: {
+			DockNode node = findDockNode(record[1], delayOpenHandler);
+			if (node != null) {
+				node.setFloating(true, null, this);
+				node.getStage().setX(Double.parseDouble(record[2]));
+				node.getStage().setY(Double.parseDouble(record[3]));
+				node.setFloatingWidth(Double.parseDouble(record[4]));
+				node.setFloatingHeight(Double.parseDouble(record[5]));
+				node.closedProperty().setValue(false);
+			}
+			break;
+		}
+		case LayoutJournal.CLOSE: {
+			DockNode node = findDockNode(record[1], null);
+			if (node != null) {
+				node.close();
+			}
+			break;
+		}
+		case LayoutJournal.DIVIDERS: {
+			Node pane = resolvePath(record[1]);
+			if (pane instanceof ContentSplitPane) {
+				String[] values = record[2].split(",");
+				double[] positions = new double[values.length];
+				for (int i = 0; i < values.length; i++) {
+					positions[i] = Double.parseDouble(values[i]);
+				}
+				((ContentSplitPane) pane).setDividerPositions(positions);
+				journaledDividers.put((ContentSplitPane) pane, positions);
+			}
+			break;
+		}
+		case LayoutJournal.SELECT: {
+			Node pane = resolvePath(record[1]);
+			if (pane instanceof ContentTabPane) {
+				((ContentTabPane) pane).getSelectionModel().select(Integer.parseInt(record[2]));
+			}
+			break;
+		}
+		default:
+			System.err.println("Unknown journal record " + record[0]);
+		}
+	}
+
+	/**
+	 * Looks up a dock node by its setting name in the layout and among the
+	 * undocked nodes, opening it through the handler if it is not present.
+	 */
+	private DockNode findDockNode(String settingName, DelayOpenHandler delayOpenHandler) {
+		HashMap<String, DockNode> dockNodes = new HashMap<>();
+		collectDockNodes(dockNodes, (ContentPane) root);
+		for (DockNode node : undockedNodes) {
+			dockNodes.putIfAbsent(node.getSettingName(), node);
+		}
+
+		DockNode node = dockNodes.get(settingName);
+		if (node == null && delayOpenHandler != null) {
+			node = delayOpenHandler.open(settingName);
+		}
+		return node;
+	}
+
+	void journalFloat(DockNode node) {
+		if (journal != null && node.getStage() != null) {
+			Stage stage = node.getStage();
+			appendJournal(LayoutJournal.FLOAT, node.getSettingName(), Double.toString(stage.getX()),
+					Double.toString(stage.getY()), Double.toString(stage.getWidth()),
+					Double.toString(stage.getHeight()));
+		}
+	}
+
+	void journalClose(DockNode node) {
+		if (journal != null) {
+			appendJournal(LayoutJournal.CLOSE, node.getSettingName());
+		}
+	}
+
+	private void journalSelection(ContentTabPane tabPane) {
+		if (journal != null && tabPane.getScene() != null) {
+			String path = pathOf(tabPane);
+			if (path != null) {
+				appendJournal(LayoutJournal.SELECT, path,
+						Integer.toString(tabPane.getSelectionModel().getSelectedIndex()));
+			}
+		}
+	}
+
+	/**
+	 * Appends a record for every split pane whose divider positions differ from
+	 * the last ones written to the journal.
+	 */
+	private void journalDividers() {
+		if (journal != null && root instanceof ContentPane) {
+			journalDividers((ContentPane) root, "");
+		}
+	}
+
+	private void journalDividers(ContentPane pane, String path) {
+		if (pane instanceof ContentSplitPane) {
+			ContentSplitPane splitPane = (ContentSplitPane) pane;
+			double[] positions = splitPane.getDividerPositions();
+			if (positions.length > 0 && !Arrays.equals(positions, journaledDividers.get(splitPane))) {
+				StringJoiner values = new StringJoiner(",");
+				for (double position : positions) {
+					values.add(Double.toString(position));
+				}
+				appendJournal(LayoutJournal.DIVIDERS, path, values.toString());
+				journaledDividers.put(splitPane, positions);
+			}
+		}
+
+		List<Node> children = pane.getChildrenList();
+		for (int i = 0; i < children.size(); i++) {
+			if (children.get(i) instanceof ContentPane) {
+				journalDividers((ContentPane) children.get(i), path.isEmpty() ? "" + i : path + "/" + i);
+			}
+		}
+	}
+
+	/**
+	 * A reference to a docking sibling that stays valid when the journal is
+	 * replayed: "-" for the root, "@" followed by the path for a content pane
+	 * and the setting name for a dock node.
+	 */
+	private String journalReference(Node sibling) {
+		if (sibling == null || sibling == root) {
+			return "-";
+		} else if (sibling instanceof DockNode) {
+			return ((DockNode) sibling).getSettingName();
+		}
+		String path = pathOf(sibling);
+		return path != null ? "@" + path : "-";
+	}
+
+	private Node resolveReference(String reference) {
+		if ("-".equals(reference)) {
+			return root;
+		} else if (reference.startsWith("@")) {
+			return resolvePath(reference.substring(1));
+		}
+		HashMap<String, DockNode> dockNodes = new HashMap<>();
+		collectDockNodes(dockNodes, (ContentPane) root);
+		return dockNodes.get(reference);
+	}
+
+	/**
+	 * The child index path from the root to the given pane, empty for the root
+	 * itself and null if the pane is not part of the layout.
+	 */
+	private String pathOf(Node target) {
+		if (target == root) {
+			return "";
+		}
+		return root instanceof ContentPane ? pathOf((ContentPane) root, target, "") : null;
+	}
+
+	private String pathOf(ContentPane pane, Node target, String path) {
+		List<Node> children = pane.getChildrenList();
+		for (int i = 0; i < children.size(); i++) {
+			String childPath = path.isEmpty() ? "" + i : path + "/" + i;
+			if (children.get(i) == target) {
+				return childPath;
+			} else if (children.get(i) instanceof ContentPane) {
+				String found = pathOf((ContentPane) children.get(i), target, childPath);
+				if (found != null) {
+					return found;
+				}
+			}
+		}
+		return null;
+	}
+
+	private Node resolvePath(String path) {
+		Node node = root;
+		if (path.isEmpty()) {
+			return node;
+		}
+		for (String index : path.split("/")) {
+			if (!(node instanceof ContentPane)) {
+				return null;
+			}
+			List<Node> children = ((ContentPane) node).getChildrenList();
+			int i = Integer.parseInt(index);
+			if (i >= children.size()) {
+				return null;
+			}
+			node = children.get(i);
+		}
+		return node;
+	}
+
+	private ContentTabPane newTabPane() {
+		ContentTabPane tabPane = new ContentTabPane();
+		tabPane.setDetachUnselectedTabs(detachUnselectedTabs);
+		tabPane.setWarmTabCacheSize(warmTabCacheSize);
+		tabPane.setVirtualizedHeaders(virtualizedTabHeaders);
+		tabPane.setTabSnapshots(tabSnapshots);
+		tabPane.getSelectionModel().selectedIndexProperty().addListener((o, ov, nv) -> journalSelection(tabPane));
+		return tabPane;
 	}
 
 	private void undockAll() {
@@ -884,6 +1545,7 @@ public class DockPane extends StackPane implements EventHandler<DockEvent> {
 		}
 	}
 
+	@SuppressWarnings("unchecked")
 	private void applyPane(HashMap<String, ContentHolder> contents, ContentPane root,
 			DelayOpenHandler delayOpenHandler) {
 		// Collect the current pane information
@@ -895,6 +1557,39 @@ public class DockPane extends StackPane implements EventHandler<DockEvent> {
 		}
 		undockedNodes.clear();
 
+		// the nodes of the current floating host windows can end up anywhere
+		// in the new layout
+		closeFloatingHosts(dockNodes);
+
+		// placeholders of the previous layout are opened afresh
+		dockNodes.values().removeIf(node -> lazyPlaceholders.remove(node) != null);
+
+		applyLayout(contents, dockNodes, delayOpenHandler);
+
+		if (contents.containsKey("_FloatingHosts")) {
+			for (Object item : contents.get("_FloatingHosts").getChildren()) {
+				HashMap<String, ContentHolder> hostContents = (HashMap<String, ContentHolder>) ((ContentHolder) item)
+						.getProperties().get("Contents");
+				createFloatingHost().applyLayout(hostContents, dockNodes, delayOpenHandler);
+			}
+		}
+
+		HashMap<String, DockNode> openedNodes = new HashMap<>();
+		collectOpenedNodes(openedNodes);
+		for (DockPane host : floatingHosts) {
+			host.collectOpenedNodes(openedNodes);
+		}
+		dockNodes.forEach((k, v) -> {
+			if (!openedNodes.containsKey(k)) {
+				v.setOwnerDockPane(this);
+				v.close();
+				undockedNodes.add(v);
+			}
+		});
+	}
+
+	private void applyLayout(HashMap<String, ContentHolder> contents, HashMap<String, DockNode> dockNodes,
+			DelayOpenHandler delayOpenHandler) {
 		if (contents.containsKey("_MainWindow")) {
 			Double[] windowSize = (Double[]) contents.get("_MainWindow").getProperties().get("Size");
 			Double[] windowPosition = (Double[]) contents.get("_MainWindow").getProperties().get("Position");
@@ -917,9 +1612,10 @@ public class DockPane extends StackPane implements EventHandler<DockEvent> {
 			boolean minimized = (boolean) holder.getProperties().getOrDefault("Minimized", false);
 			DockNode node = dockNodes.get(settingName);
 			if (null == node && null != delayOpenHandler)
-				node = delayOpenHandler.open(settingName);
+				node = delayOpenHandler.open(settingName, title);
 
 			if (null != node) {
+				node.setOwnerDockPane(this);
 				node.setFloating(true, null, this);
 
 				node.getStage().setX(position[0]);
@@ -951,21 +1647,14 @@ public class DockPane extends StackPane implements EventHandler<DockEvent> {
 		} else {
 			this.root = null;
 		}
+	}
 
-		HashMap<String, DockNode> openedNodes = new HashMap<>();
-
+	private void collectOpenedNodes(HashMap<String, DockNode> openedNodes) {
 		// undockNodes
 		for (DockNode node : undockedNodes) {
 			openedNodes.put(node.getSettingName(), node);
 		}
 		collectDockNodes(openedNodes, (ContentPane) this.root);
-		dockNodes.forEach((k, v) -> {
-			if (!openedNodes.containsKey(k)) {
-				v.close();
-				undockedNodes.add(v);
-			}
-		});
-
 	}
 
 	private Node buildPane(ContentPane parent, ContentHolder holder, HashMap<String, DockNode> dockNodes,
@@ -996,7 +1685,7 @@ public class DockPane extends StackPane implements EventHandler<DockEvent> {
 					} else {
 						// If delayOpenHandler is provided, we call it
 						if (delayOpenHandler != null) {
-							DockNode newNode = delayOpenHandler.open(nodeProperty.getSettingName());
+							DockNode newNode = delayOpenHandler.open(nodeProperty.getSettingName(), nodeProperty.getTitle());
 							if (newNode.tabbedProperty().get()) {
 								newNode.tabbedProperty().set(false);
 							}
@@ -1016,9 +1705,16 @@ public class DockPane extends StackPane implements EventHandler<DockEvent> {
 				splitPane.setContentParent(parent);
 			pane = splitPane;
 		} else if (holder.getType().equals(ContentHolder.Type.TabPane)) {
-			ContentTabPane tabPane = new ContentTabPane();
+			ContentTabPane tabPane = newTabPane();
+			int selectedIndex = (int) holder.getProperties().get("SelectedIndex");
+			// items that cannot be opened are skipped, so the selected index
+			// refers to the saved items and not to the tabs added
+			int itemIndex = -1;
+			Tab selectedTab = null;
 
 			for (Object item : holder.getChildren()) {
+				itemIndex++;
+				int tabCount = tabPane.getTabs().size();
 				if (item instanceof DockNodeProperty) {
 					DockNodeProperty nodeProperty = (DockNodeProperty) item;
 					// Use dock node
@@ -1028,25 +1724,45 @@ public class DockPane extends StackPane implements EventHandler<DockEvent> {
 						this.dockNodeEventFilters.put(n, dockNodeEventHandler);
 						n.addEventFilter(DockEvent.DOCK_OVER, dockNodeEventHandler);
 						n.setDockPane(this);
-						tabPane.addDockNodeTab(new DockNodeTab(dockNodes.get(nodeProperty.getSettingName())));
+						tabPane.addDockNodeTab(DockNodeTab.of(dockNodes.get(nodeProperty.getSettingName())));
 						n.closedProperty().setValue(false);
 						n.setTitle(nodeProperty.getTitle());
 					} else {
 						// If delayOpenHandler is provided, we call it
-						if (null != delayOpenHandler) {
-							DockNode newNode = delayOpenHandler.open((String) nodeProperty.getSettingName());
-							newNode.dockedProperty().set(true);
-							newNode.setTitle(nodeProperty.getTitle());
-							tabPane.addDockNodeTab(new DockNodeTab(newNode));
+						if (null != delayOpenHandler && lazyTabRestore && itemIndex != selectedIndex) {
+							DockNode placeholder = createPlaceholder(nodeProperty, delayOpenHandler);
+							placeholder.dockedProperty().set(true);
+							DockNodeTab tab = DockNodeTab.of(placeholder);
+							tab.selectedProperty().addListener((observable, oldValue, newValue) -> {
+								if (newValue) {
+									Platform.runLater(() -> restoreLazyTab(tab, placeholder));
+								}
+							});
+							tabPane.addDockNodeTab(tab);
+						} else if (null != delayOpenHandler) {
+							DockNode newNode = delayOpenHandler.open(nodeProperty.getSettingName(), nodeProperty.getTitle());
+							if (newNode != null) {
+								newNode.dockedProperty().set(true);
+								newNode.setTitle(nodeProperty.getTitle());
+								tabPane.addDockNodeTab(DockNodeTab.of(newNode));
+							} else
+								System.err.println(nodeProperty.getSettingName() + " could not be opened.");
 						} else
 							System.err.println(nodeProperty.getSettingName() + " is not present.");
 					}
 				}
+				if (itemIndex == selectedIndex && tabPane.getTabs().size() > tabCount) {
+					selectedTab = tabPane.getTabs().get(tabCount);
+				}
 			}
 
 			if (parent != null)
 				tabPane.setContentParent(parent);
-			tabPane.getSelectionModel().select((int) holder.getProperties().get("SelectedIndex"));
+			if (selectedTab != null) {
+				tabPane.getSelectionModel().select(selectedTab);
+			} else {
+				tabPane.getSelectionModel().selectFirst();
+			}
 			pane = tabPane;
 		}
 
@@ -1055,5 +1771,317 @@ public class DockPane extends StackPane implements EventHandler<DockEvent> {
 
 	public void remove(DockNode dockNode) {
 		undockedNodes.remove(dockNode);
+		checkFloatingHost();
+	}
+
+	/**
+	 * Drops every reference this dock pane holds to a disposed dock node.
+	 *
+	 * @param dockNode
+	 *            the disposed dock node
+	 */
+	void forget(DockNode dockNode) {
+		remove(dockNode);
+		lazyPlaceholders.remove(dockNode);
+		DockNodeEventHandler dockNodeEventHandler = dockNodeEventFilters.remove(dockNode);
+		if (dockNodeEventHandler != null) {
+			dockNode.removeEventFilter(DockEvent.DOCK_OVER, dockNodeEventHandler);
+		}
+		for (Perspective perspective : perspectives.values()) {
+			perspective.undockedNodes.remove(dockNode);
+			perspective.hiddenFloatingNodes.remove(dockNode);
+			perspective.dockNodeEventFilters.remove(dockNode);
+		}
+	}
+
+	/**
+	 * Creates a floating host window, a stage with its own dock pane into
+	 * which several dock nodes can be docked together as tabs or splits
+	 * instead of each floating in a window of its own. The window closes
+	 * itself once the last of its dock nodes has left or was closed, and it is
+	 * persisted along with the layout of this dock pane.
+	 *
+	 * @return the dock pane at the root of the new window
+	 */
+	public DockPane createFloatingHost() {
+		if (hostOwner != null) {
+			return hostOwner.createFloatingHost();
+		}
+
+		DockPane host = new DockPane();
+		host.hostOwner = this;
+		host.restoreExecutor = restoreExecutor;
+		host.lazyTabRestore = lazyTabRestore;
+		host.detachUnselectedTabs = detachUnselectedTabs;
+		host.warmTabCacheSize = warmTabCacheSize;
+		host.virtualizedTabHeaders = virtualizedTabHeaders;
+		host.tabSnapshots = tabSnapshots;
+		host.dividerDragMode = dividerDragMode;
+		host.dividerDragThrottle = dividerDragThrottle;
+		host.inSceneIndicators = inSceneIndicators;
+
+		Stage stage = new Stage();
+		Scene scene = new Scene(host, 600, 400);
+		if (getScene() != null) {
+			scene.getStylesheets().setAll(getScene().getStylesheets());
+			if (getScene().getWindow() instanceof Stage) {
+				stage.titleProperty().bind(((Stage) getScene().getWindow()).titleProperty());
+			}
+		}
+		stage.setScene(scene);
+		stage.setOnCloseRequest(event -> host.closeFloatingHost());
+
+		floatingHosts.add(host);
+		stage.show();
+		return host;
+	}
+
+	/**
+	 * The floating host windows of this dock pane.
+	 *
+	 * @return the dock panes at the root of the floating host windows
+	 */
+	public ObservableList<DockPane> getFloatingHosts() {
+		return FXCollections.unmodifiableObservableList(floatingHosts);
+	}
+
+	/**
+	 * The dock pane that created the floating host window of this dock pane.
+	 *
+	 * @return the owning dock pane, null if this is not a floating host
+	 */
+	public DockPane getHostOwner() {
+		return hostOwner;
+	}
+
+	private DockPane getHostRoot() {
+		return hostOwner != null ? hostOwner : this;
+	}
+
+	/**
+	 * Closes the floating host window of this dock pane. Its dock nodes are
+	 * closed and handed back to the owning dock pane, so that a later layout
+	 * can still reuse them.
+	 */
+	public void closeFloatingHost() {
+		if (hostOwner == null || !hostOwner.floatingHosts.remove(this)) {
+			return;
+		}
+
+		HashMap<String, DockNode> dockNodes = new HashMap<>();
+		collectOpenedNodes(dockNodes);
+		for (DockNode node : dockNodes.values()) {
+			if (!node.isClosed()) {
+				node.close();
+			}
+			undockedNodes.remove(node);
+			lazyPlaceholders.remove(node);
+			node.setOwnerDockPane(hostOwner);
+			if (!hostOwner.undockedNodes.contains(node)) {
+				hostOwner.undockedNodes.add(node);
+			}
+		}
+
+		getScene().getWindow().hide();
+	}
+
+	private void closeFloatingHosts(HashMap<String, DockNode> dockNodes) {
+		for (DockPane host : new ArrayList<>(floatingHosts)) {
+			floatingHosts.remove(host);
+
+			host.undockAll();
+			for (DockNode node : host.undockedNodes) {
+				if (host.lazyPlaceholders.remove(node) == null) {
+					node.setOwnerDockPane(this);
+					dockNodes.put(node.getSettingName(), node);
+				}
+			}
+			host.undockedNodes.clear();
+			host.getScene().getWindow().hide();
+		}
+	}
+
+	/**
+	 * Closes this floating host window later in the pulse if no dock node is
+	 * left in it, neither docked nor floating.
+	 */
+	private void checkFloatingHost() {
+		if (hostOwner == null) {
+			return;
+		}
+
+		Platform.runLater(() -> {
+			if (root == null && undockedNodes.stream().noneMatch(DockNode::isFloating)) {
+				closeFloatingHost();
+			}
+		});
+	}
+
+	/**
+	 * The name of the perspective currently shown.
+	 *
+	 * @return the perspective name, null if the current layout has none
+	 */
+	public String getPerspectiveName() {
+		return perspectiveName;
+	}
+
+	/**
+	 * Names the layout currently shown, so that a later
+	 * {@link #switchPerspective(String)} keeps it in the perspective cache.
+	 *
+	 * @param perspectiveName
+	 *            the perspective name
+	 */
+	public void setPerspectiveName(String perspectiveName) {
+		this.perspectiveName = perspectiveName;
+	}
+
+	/**
+	 * The maximum number of perspectives kept in memory, not counting the one
+	 * currently shown.
+	 *
+	 * @return the maximum number of cached perspectives
+	 */
+	public int getMaxCachedPerspectives() {
+		return maxCachedPerspectives;
+	}
+
+	/**
+	 * Sets the maximum number of perspectives kept in memory. The least
+	 * recently used ones are released first.
+	 *
+	 * @param maxCachedPerspectives
+	 *            the maximum number of cached perspectives
+	 */
+	public void setMaxCachedPerspectives(int maxCachedPerspectives) {
+		this.maxCachedPerspectives = maxCachedPerspectives;
+		evictPerspectives();
+	}
+
+	/**
+	 * Switches to another perspective in memory. The current layout, including
+	 * its floating windows, is kept as it is under the current perspective
+	 * name. If the requested perspective is cached it is reattached without
+	 * rebuilding its containers or skins, otherwise this dock pane is left
+	 * empty and false is returned so that the caller can build the layout, e.g.
+	 * with {@link #loadPreference(String)}. A dock node can only be part of one
+	 * perspective at a time.
+	 *
+	 * @param name
+	 *            the perspective to switch to
+	 * @return true if the perspective was restored from the cache
+	 */
+	public boolean switchPerspective(String name) {
+		if (name.equals(perspectiveName)) {
+			return true;
+		}
+
+		if (perspectiveName != null) {
+			stashPerspective(perspectiveName);
+		}
+		perspectiveName = name;
+
+		Perspective perspective = perspectives.remove(name);
+		if (perspective == null) {
+			return false;
+		}
+
+		root = perspective.root;
+		if (root != null) {
+			this.getChildren().add(0, root);
+		}
+		undockedNodes.setAll(perspective.undockedNodes);
+		dockNodeEventFilters.putAll(perspective.dockNodeEventFilters);
+		for (DockNode node : perspective.hiddenFloatingNodes) {
+			node.getStage().show();
+		}
+		return true;
+	}
+
+	/**
+	 * Releases a cached perspective.
+	 *
+	 * @param name
+	 *            the perspective to release
+	 */
+	public void releasePerspective(String name) {
+		Perspective perspective = perspectives.remove(name);
+		if (perspective != null) {
+			release(perspective);
+		}
+	}
+
+	private void stashPerspective(String name) {
+		Perspective perspective = new Perspective();
+		perspective.root = root;
+		perspective.undockedNodes = new ArrayList<>(undockedNodes);
+		perspective.hiddenFloatingNodes = new ArrayList<>();
+		perspective.dockNodeEventFilters = new HashMap<>(dockNodeEventFilters);
+
+		// the subtree is taken out of the scene graph but keeps its skins, so
+		// switching back only restyles and lays it out again
+		if (root != null) {
+			this.getChildren().remove(root);
+		}
+		for (DockNode node : undockedNodes) {
+			if (node.isFloating() && node.getStage() != null && node.getStage().isShowing()) {
+				node.getStage().hide();
+				perspective.hiddenFloatingNodes.add(node);
+			}
+		}
+
+		root = null;
+		undockedNodes.clear();
+		dockNodeEventFilters.clear();
+
+		releasePerspective(name);
+		perspectives.put(name, perspective);
+		evictPerspectives();
+	}
+
+	private void evictPerspectives() {
+		Iterator<Map.Entry<String, Perspective>> i = perspectives.entrySet().iterator();
+		while (perspectives.size() > maxCachedPerspectives && i.hasNext()) {
+			Perspective perspective = i.next().getValue();
+			i.remove();
+			release(perspective);
+		}
+	}
+
+	private void release(Perspective perspective) {
+		perspective.dockNodeEventFilters
+				.forEach((node, handler) -> node.removeEventFilter(DockEvent.DOCK_OVER, handler));
+
+		// the floating windows of the released layout were only hidden
+		for (DockNode node : perspective.hiddenFloatingNodes) {
+			node.setFloating(false);
+			node.releaseFloatingStage();
+		}
+
+		// the nodes of the released layout are closed and kept with the
+		// current one like the unused nodes of a loaded layout, so that they
+		// no longer hold on to the released containers
+		HashMap<String, DockNode> dockNodes = new HashMap<>();
+		if (perspective.root != null) {
+			ContentPane releasedRoot = (ContentPane) perspective.root;
+			collectDockNodes(dockNodes, releasedRoot);
+			for (DockNode node : dockNodes.values()) {
+				releasedRoot.removeNode(new Stack<Parent>(), node);
+				node.setOwnerDockPane(null);
+				node.undock();
+			}
+		}
+		for (DockNode node : perspective.undockedNodes) {
+			dockNodes.put(node.getSettingName(), node);
+		}
+
+		dockNodes.forEach((k, v) -> {
+			v.setOwnerDockPane(this);
+			v.close();
+			if (!v.isRemoveOnClose() && !undockedNodes.contains(v)) {
+				undockedNodes.add(v);
+			}
+		});
 	}
 }
@@ -20,9 +20,12 @@
 
 package org.dockfx;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Stack;
 
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.FXCollections;
@@ -64,13 +67,30 @@ public class DockTitleBar extends HBox implements EventHandler<MouseEvent> {
 	/**
 	 * The label node used for captioning and the graphic.
 	 */
+	private final Label label;
 
 	/**
 	 * State manipulation buttons including close, maximize, detach, and
 	 * restore.
 	 */
-	private final Button closeButton, stateButton, minimizeButton, backButton, listButton, renameBtn, maximizeButtnon;
-	private final ToggleButton pinButton;
+	private final Button closeButton, stateButton, renameBtn, maximizeButtnon;
+	/**
+	 * Buttons that are only shown while the dock node is floating, created
+	 * the first time it floats.
+	 */
+	private Button minimizeButton, backButton;
+	private ToggleButton pinButton;
+	/**
+	 * Button opening the context menu, created with the first menu item.
+	 */
+	private Button listButton;
+
+	/**
+	 * Settings of the lazily created buttons that were made before the buttons
+	 * exist.
+	 */
+	private String backTooltip, listTooltip, pinTooltip;
+	private boolean alwaysOnTop;
 
 	private ContextMenu contextMenu;
 
@@ -85,7 +105,7 @@ public class DockTitleBar extends HBox implements EventHandler<MouseEvent> {
 	public DockTitleBar(DockNode dockNode) {
 		this.dockNode = dockNode;
 
-		Label label = new Label("Dock Title Bar");
+		label = new Label("Dock Title Bar");
 		label.textProperty().bind(dockNode.titleProperty());
 		label.graphicProperty().bind(dockNode.graphicProperty());
 
@@ -101,20 +121,6 @@ public class DockTitleBar extends HBox implements EventHandler<MouseEvent> {
 		closeButton = new Button();
 		closeButton.setOnAction(e -> dockNode.close());
 
-		minimizeButton = new Button();
-		minimizeButton.setOnAction(e -> dockNode.setMinimized(true));
-
-		backButton = new Button();
-		backButton.setOnAction(e -> dockNode.dockBack());
-
-		listButton = new Button();
-		listButton.setVisible(false);
-		listButton.setOnMouseClicked(e -> {
-			if (contextMenu != null && e.getButton() == MouseButton.PRIMARY) {
-				contextMenu.show(label, e.getScreenX(), e.getScreenY());
-			}
-		});
-
 		renameBtn = new Button();
 		renameBtn.setOnAction(e -> {
 			if (renameAE == null)
@@ -128,9 +134,6 @@ public class DockTitleBar extends HBox implements EventHandler<MouseEvent> {
 		maximizeButtnon.visibleProperty().bind(dockNode.dockedProperty());
 		maximizeButtnon.managedProperty().bind(maximizeButtnon.visibleProperty());
 
-		pinButton = new ToggleButton();
-		pinButton.setOnAction(ev -> dockNode.getStage().setAlwaysOnTop(pinButton.isSelected()));
-
 		this.addEventHandler(MouseEvent.MOUSE_PRESSED, this);
 		this.addEventHandler(MouseEvent.DRAG_DETECTED, this);
 		this.addEventHandler(MouseEvent.MOUSE_DRAGGED, this);
@@ -139,19 +142,12 @@ public class DockTitleBar extends HBox implements EventHandler<MouseEvent> {
 		label.getStyleClass().add("dock-title-label");
 		closeButton.getStyleClass().add("dock-close-button");
 		stateButton.getStyleClass().add("dock-state-button");
-		minimizeButton.getStyleClass().add("dock-minimize-button");
-		backButton.getStyleClass().add("dock-back-button");
-		listButton.getStyleClass().add("dock-list-button");
 		renameBtn.getStyleClass().add("rename-button");
 		maximizeButtnon.getStyleClass().add("dock-maximize-button");
-		pinButton.getStyleClass().add("dock-pin-button");
 		this.getStyleClass().add("dock-title-bar");
 
 		closeButton.setMaxSize(BUTTON_MAX_WIDTH, BUTTON_MAX_HEIGHT);
 		stateButton.setMaxSize(BUTTON_MAX_WIDTH, BUTTON_MAX_HEIGHT);
-		minimizeButton.setMaxSize(BUTTON_MAX_WIDTH, BUTTON_MAX_HEIGHT);
-		backButton.setMaxSize(BUTTON_MAX_WIDTH, BUTTON_MAX_HEIGHT);
-		listButton.setMaxSize(BUTTON_MAX_WIDTH, BUTTON_MAX_HEIGHT);
 		renameBtn.setMaxSize(BUTTON_MAX_WIDTH, BUTTON_MAX_HEIGHT);
 
 		// create a pane that will stretch to make the buttons right aligned
@@ -170,19 +166,119 @@ public class DockTitleBar extends HBox implements EventHandler<MouseEvent> {
 			}
 		});
 
-		getChildren().addAll(listButton, label, fillPane, pinButton, backButton, renameBtn, minimizeButton, stateButton,
-				maximizeButtnon, closeButton);
+		getChildren().addAll(label, fillPane, renameBtn, stateButton, maximizeButtnon, closeButton);
+
+		// most dock nodes never float or only show up as tab headers, so the
+		// floating buttons are only built once they are needed
+		if (dockNode.isFloating()) {
+			createFloatingButtons();
+		} else {
+			dockNode.floatingProperty().addListener(new InvalidationListener() {
+				@Override
+				public void invalidated(Observable observable) {
+					if (dockNode.isFloating()) {
+						dockNode.floatingProperty().removeListener(this);
+						createFloatingButtons();
+					}
+				}
+			});
+		}
+	}
+
+	private void createFloatingButtons() {
+		if (minimizeButton != null) {
+			return;
+		}
+
+		minimizeButton = new Button();
+		minimizeButton.setOnAction(e -> dockNode.setMinimized(true));
+
+		backButton = new Button();
+		backButton.setOnAction(e -> dockNode.dockBack());
+		if (backTooltip != null) {
+			backButton.setTooltip(new Tooltip(backTooltip));
+		}
+
+		pinButton = new ToggleButton();
+		pinButton.setSelected(alwaysOnTop);
+		pinButton.setOnAction(ev -> {
+			alwaysOnTop = pinButton.isSelected();
+			dockNode.getStage().setAlwaysOnTop(alwaysOnTop);
+		});
+		if (pinTooltip != null) {
+			pinButton.setTooltip(new Tooltip(pinTooltip));
+		}
+
+		minimizeButton.getStyleClass().add("dock-minimize-button");
+		backButton.getStyleClass().add("dock-back-button");
+		pinButton.getStyleClass().add("dock-pin-button");
+
+		minimizeButton.setMaxSize(BUTTON_MAX_WIDTH, BUTTON_MAX_HEIGHT);
+		backButton.setMaxSize(BUTTON_MAX_WIDTH, BUTTON_MAX_HEIGHT);
+
+		getChildren().addAll(getChildren().indexOf(renameBtn), Arrays.asList(pinButton, backButton));
+		getChildren().add(getChildren().indexOf(stateButton), minimizeButton);
+
 		minimizeButton.visibleProperty().bind(dockNode.floatingProperty());
 		minimizeButton.managedProperty().bind(minimizeButton.visibleProperty());
 		backButton.visibleProperty().bind(dockNode.floatingProperty());
-		listButton.managedProperty().bind(listButton.visibleProperty());
 		pinButton.visibleProperty().bind(dockNode.floatingProperty());
 	}
 
+	private void createListButton() {
+		if (listButton != null) {
+			return;
+		}
+
+		listButton = new Button();
+		listButton.setOnMouseClicked(e -> {
+			if (contextMenu != null && e.getButton() == MouseButton.PRIMARY) {
+				contextMenu.show(label, e.getScreenX(), e.getScreenY());
+			}
+		});
+		if (listTooltip != null) {
+			listButton.setTooltip(new Tooltip(listTooltip));
+		}
+		listButton.getStyleClass().add("dock-list-button");
+		listButton.setMaxSize(BUTTON_MAX_WIDTH, BUTTON_MAX_HEIGHT);
+		listButton.managedProperty().bind(listButton.visibleProperty());
+
+		getChildren().add(0, listButton);
+	}
+
+	/**
+	 * Releases the bindings, context menu and drag state of this title bar,
+	 * called when its dock node is disposed.
+	 */
+	void dispose() {
+		label.textProperty().unbind();
+		label.graphicProperty().unbind();
+		label.setGraphic(null);
+		maximizeButtnon.visibleProperty().unbind();
+		if (minimizeButton != null) {
+			minimizeButton.visibleProperty().unbind();
+			backButton.visibleProperty().unbind();
+			pinButton.visibleProperty().unbind();
+		}
+
+		if (contextMenu != null) {
+			contextMenu.hide();
+			contextMenu.getItems().clear();
+			contextMenu = null;
+		}
+		if (listButton != null) {
+			listButton.setVisible(false);
+		}
+
+		renameAE = null;
+		dragNodes.clear();
+	}
+
 	void addMenuItem(MenuItem... menuItems) {
 		if (contextMenu == null) {
 			contextMenu = new ContextMenu(menuItems);
 			contextMenu.setAutoHide(true);
+			createListButton();
 			listButton.setVisible(true);
 		} else {
 			contextMenu.getItems().addAll(menuItems);
@@ -231,6 +327,7 @@ public class DockTitleBar extends HBox implements EventHandler<MouseEvent> {
 	 *         dock node.
 	 */
 	public final Button getMinimizeButton() {
+		createFloatingButtons();
 		return minimizeButton;
 	}
 
@@ -538,19 +635,28 @@ public class DockTitleBar extends HBox implements EventHandler<MouseEvent> {
 	}
 
 	public boolean isAlwaysOnTop() {
-		return pinButton.isSelected();
+		return alwaysOnTop;
 	}
 
 	public void setAlwaysOnTop(boolean alwaysOnTop) {
-		pinButton.setSelected(alwaysOnTop);
+		this.alwaysOnTop = alwaysOnTop;
+		if (pinButton != null) {
+			pinButton.setSelected(alwaysOnTop);
+		}
 	}
 
 	public void setBackButtonToottip(String tooltip) {
-		backButton.setTooltip(new Tooltip(tooltip));
+		backTooltip = tooltip;
+		if (backButton != null) {
+			backButton.setTooltip(new Tooltip(tooltip));
+		}
 	}
 
 	public void setListButtonToottip(String tooltip) {
-		listButton.setTooltip(new Tooltip(tooltip));
+		listTooltip = tooltip;
+		if (listButton != null) {
+			listButton.setTooltip(new Tooltip(tooltip));
+		}
 	}
 
 	public void setRenameButtonToottip(String tooltip) {
@@ -558,6 +664,9 @@ public class DockTitleBar extends HBox implements EventHandler<MouseEvent> {
 	}
 
 	public void setPinButtonTooltip(String tooltip) {
-		pinButton.setTooltip(new Tooltip(tooltip));
+		pinTooltip = tooltip;
+		if (pinButton != null) {
+			pinButton.setTooltip(new Tooltip(tooltip));
+		}
 	}
 }
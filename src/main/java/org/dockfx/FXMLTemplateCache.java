@@ -0,0 +1,105 @@
+package org.dockfx;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javafx.fxml.FXMLLoader;
+
+/**
+ * FXMLTemplateCache keeps the FXML files used by dock nodes in memory, keyed by
+ * their path, together with the class names their imports failed to resolve
+ * to. Opening another instance of the same view then only instantiates the
+ * objects instead of reading the file and probing the class loader for every
+ * import again. The cache is thread safe so views can be loaded off the FX thread.
+ */
+class FXMLTemplateCache {
+
+	private static final Map<String, byte[]> templates = new ConcurrentHashMap<>();
+
+	/**
+	 * The class names known not to resolve, by class loader. Only names are
+	 * kept, nothing that refers back to the class loader, so a class loader
+	 * that is no longer used can still be collected.
+	 */
+	private static final Map<ClassLoader, Set<String>> missingClasses = new WeakHashMap<>();
+
+	/**
+	 * Loads the FXML file at the given path with a new loader.
+	 *
+	 * @param FXMLPath
+	 *            the resource path of the FXML file
+	 * @param classLoader
+	 *            the class loader used to resolve the classes of the file
+	 * @return the loader holding the root and controller
+	 * @throws IOException
+	 *             if the file cannot be read or parsed
+	 */
+	static FXMLLoader load(String FXMLPath, ClassLoader classLoader) throws IOException {
+		byte[] template = templates.get(FXMLPath);
+		if (template == null) {
+			template = read(FXMLPath);
+			templates.put(FXMLPath, template);
+		}
+
+		FXMLLoader loader = new FXMLLoader();
+		loader.setClassLoader(resolvingClassLoader(classLoader));
+		loader.load(new ByteArrayInputStream(template));
+		return loader;
+	}
+
+	private static byte[] read(String FXMLPath) throws IOException {
+		try (InputStream in = DockNode.class.getResourceAsStream(FXMLPath)) {
+			if (in == null)
+				throw new FileNotFoundException(FXMLPath);
+
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			int length;
+			while ((length = in.read(buffer)) != -1) {
+				out.write(buffer, 0, length);
+			}
+			return out.toByteArray();
+		}
+	}
+
+	private static synchronized ClassLoader resolvingClassLoader(ClassLoader parent) {
+		Set<String> missing = missingClasses.computeIfAbsent(parent, classLoader -> ConcurrentHashMap.newKeySet());
+		return new ResolvingClassLoader(parent, missing);
+	}
+
+	/**
+	 * Remembers which class names do not resolve. FXML imports with wildcards
+	 * make the loader probe every imported package for every element name,
+	 * and most of those lookups fail. Names that do resolve are already cached
+	 * by the parent.
+	 */
+	private static class ResolvingClassLoader extends ClassLoader {
+
+		private final Set<String> missing;
+
+		ResolvingClassLoader(ClassLoader parent, Set<String> missing) {
+			super(parent);
+			this.missing = missing;
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if (missing.contains(name))
+				throw new ClassNotFoundException(name);
+
+			try {
+				return super.loadClass(name, resolve);
+			} catch (ClassNotFoundException e) {
+				missing.add(name);
+				throw e;
+			}
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package org.dockfx;
+
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+/**
+ * ImageCache keeps the icons shown by dock nodes in memory, keyed by their URL,
+ * so an icon is decoded once per process and every ImageView showing it
+ * shares the same image. Images are only decoded the first time they are
+ * requested.
+ *
+ * The icons of the dock indicators and the title bar buttons are set in the
+ * default.css style sheet, where JavaFX already decodes each URL once, so they
+ * can still be replaced by a theme. This cache is for the images an
+ * application sets in code, such as the graphic of a dock node.
+ */
+public final class ImageCache {
+
+	private static final Map<String, Image> images = new ConcurrentHashMap<>();
+
+	private ImageCache() {
+	}
+
+	/**
+	 * Gets the image at the given URL, decoding it on the first request.
+	 *
+	 * @param url
+	 *            the URL of the image
+	 * @return the shared image
+	 */
+	public static Image get(String url) {
+		return images.computeIfAbsent(url, Image::new);
+	}
+
+	/**
+	 * Gets the image resource with the given name relative to a class,
+	 * decoding it on the first request.
+	 *
+	 * @param base
+	 *            the class the name is resolved against
+	 * @param name
+	 *            the resource name of the image
+	 * @return the shared image
+	 * @throws IllegalArgumentException
+	 *             if there is no resource with this name
+	 */
+	public static Image get(Class<?> base, String name) {
+		URL url = base.getResource(name);
+		if (url == null)
+			throw new IllegalArgumentException("Image resource not found: " + name);
+		return get(url.toExternalForm());
+	}
+
+	/**
+	 * Creates a new ImageView showing the shared image resource with the given
+	 * name relative to a class. A node can only be shown once in the scene
+	 * graph, so every dock node needs its own view while the image is shared.
+	 *
+	 * @param base
+	 *            the class the name is resolved against
+	 * @param name
+	 *            the resource name of the image
+	 * @return a new view of the shared image
+	 */
+	public static ImageView view(Class<?> base, String name) {
+		return new ImageView(get(base, name));
+	}
+
+	/**
+	 * Drops all cached images. Views still showing them keep their image.
+	 */
+	public static void clear() {
+		images.clear();
+	}
+}
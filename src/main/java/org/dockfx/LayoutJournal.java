@@ -0,0 +1,155 @@
+package org.dockfx;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LayoutJournal is an append-only log of layout changes which is kept next to
+ * a preference snapshot file. Every record is a single tab separated line, so
+ * a change costs an append of a few bytes instead of rewriting the snapshot.
+ */
+class LayoutJournal {
+
+	/**
+	 * A dock node was docked: name, position, sibling reference.
+	 */
+	static final String DOCK = "D";
+	/**
+	 * A dock node was undocked: name.
+	 */
+	static final String UNDOCK = "U";
+	/**
+	 * A dock node was set floating: name, x, y, width, height.
+	 */
+	static final String FLOAT = "F";
+	/**
+	 * A dock node was closed: name.
+	 */
+	static final String CLOSE = "C";
+	/**
+	 * The divider positions of a split pane changed: pane path, positions.
+	 */
+	static final String DIVIDERS = "P";
+	/**
+	 * The selected tab of a tab pane changed: pane path, index.
+	 */
+	static final String SELECT = "S";
+
+	private static final String SUFFIX = ".journal";
+
+	private final String snapshotPath;
+	private final File file;
+	private final long compactionThreshold;
+
+	private Writer writer;
+	private int suspended;
+	/**
+	 * The size of the journal file in bytes, read from the file on first use
+	 * and then counted along with the appends.
+	 */
+	private long length = -1;
+
+	LayoutJournal(String snapshotPath, long compactionThreshold) {
+		this.snapshotPath = snapshotPath;
+		this.file = new File(snapshotPath + SUFFIX);
+		this.compactionThreshold = compactionThreshold;
+	}
+
+	boolean isFor(String filePath) {
+		return new File(snapshotPath).getAbsoluteFile().equals(new File(filePath).getAbsoluteFile());
+	}
+
+	String getSnapshotPath() {
+		return snapshotPath;
+	}
+
+	/**
+	 * Appends a record unless recording is currently suspended.
+	 *
+	 * @param fields
+	 *            the record type followed by its arguments
+	 */
+	void append(String... fields) {
+		if (suspended > 0)
+			return;
+
+		try {
+			if (writer == null) {
+				writer = new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8);
+			}
+			String record = String.join("\t", fields) + '\n';
+			writer.write(record);
+			writer.flush();
+			if (length >= 0)
+				length += record.getBytes(StandardCharsets.UTF_8).length;
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	List<String[]> read() {
+		List<String[]> records = new ArrayList<>();
+		if (!file.exists())
+			return records;
+
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (!line.isEmpty())
+					records.add(line.split("\t", -1));
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		return records;
+	}
+
+	boolean needsCompaction() {
+		if (length < 0)
+			length = file.length();
+		return length >= compactionThreshold;
+	}
+
+	void truncate() {
+		close();
+		try {
+			new FileOutputStream(file, false).close();
+			length = 0;
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Stops recording, used while the journal itself is being replayed or the
+	 * layout is rebuilt from the snapshot.
+	 */
+	void suspend() {
+		suspended++;
+	}
+
+	void resume() {
+		suspended--;
+	}
+
+	void close() {
+		if (writer != null) {
+			try {
+				writer.close();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+			writer = null;
+		}
+	}
+}
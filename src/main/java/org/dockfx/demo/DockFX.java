@@ -30,6 +30,7 @@ import java.util.Random;
 import org.dockfx.DockNode;
 import org.dockfx.DockPane;
 import org.dockfx.DockPos;
+import org.dockfx.ImageCache;
 
 import javafx.application.Application;
 import javafx.event.ActionEvent;
@@ -85,7 +86,7 @@ public class DockFX extends Application {
         new TableColumn<String, String>("B"), new TableColumn<String, String>("C"));
 
     // load an image to caption the dock nodes
-    Image dockImage = new Image(DockFX.class.getResource("docknode.png").toExternalForm());
+    Image dockImage = ImageCache.get(DockFX.class, "docknode.png");
 
     // create and dock some prototype dock nodes to the middle of the dock pane
     // the preferred sizes are used to specify the relative size of the node
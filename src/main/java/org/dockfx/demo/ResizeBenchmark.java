@@ -0,0 +1,147 @@
+/**
+ * @file ResizeBenchmark.java
+ * @brief Measures how many resize events a floating dock node handles per second and how many
+ *        stage updates they turn into.
+ *
+ * @section License
+ *
+ *          This file is a part of the DockFX Library. Copyright (C) 2015 Robert B. Colton
+ *
+ *          This program is free software: you can redistribute it and/or modify it under the terms
+ *          of the GNU Lesser General Public License as published by the Free Software Foundation,
+ *          either version 3 of the License, or (at your option) any later version.
+ *
+ *          This program is distributed in the hope that it will be useful, but WITHOUT ANY
+ *          WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ *          PARTICULAR PURPOSE. See the GNU Lesser General Public License for more details.
+ *
+ *          You should have received a copy of the GNU Lesser General Public License along with this
+ *          program. If not, see <http://www.gnu.org/licenses/>.
+ **/
+
+package org.dockfx.demo;
+
+import org.dockfx.DockNode;
+import org.dockfx.DockPane;
+import org.dockfx.DockPos;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.event.Event;
+import javafx.event.EventType;
+import javafx.scene.Scene;
+import javafx.scene.control.TextArea;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.BorderPane;
+import javafx.stage.Stage;
+
+/**
+ * Floats a dock node and drags its east border with synthesized mouse events,
+ * several per pulse the way a fast mouse delivers them, then prints the event
+ * throughput and the number of stage width updates per second.
+ *
+ * The number of events per pulse and the duration in seconds can be passed as
+ * the first and second argument.
+ */
+public class ResizeBenchmark extends Application {
+
+  public static void main(String[] args) {
+    launch(args);
+  }
+
+  private int eventsPerPulse = 8;
+  private double durationSeconds = 5;
+
+  private long events;
+  private long dispatchNanos;
+  private long pulses;
+  private long widthUpdates;
+
+  @Override
+  public void start(Stage primaryStage) {
+    if (getParameters().getRaw().size() > 0) {
+      eventsPerPulse = Integer.parseInt(getParameters().getRaw().get(0));
+    }
+    if (getParameters().getRaw().size() > 1) {
+      durationSeconds = Double.parseDouble(getParameters().getRaw().get(1));
+    }
+
+    DockPane dockPane = new DockPane();
+    primaryStage.setTitle("DockFX Resize Benchmark");
+    primaryStage.setScene(new Scene(dockPane, 800, 500));
+    primaryStage.show();
+
+    DockPane.initializeDefaultUserAgentStylesheet();
+
+    DockNode node = new DockNode(new TextArea("Resize me"), "Benchmark");
+    node.dock(dockPane, DockPos.LEFT);
+
+    Platform.runLater(() -> {
+      node.setFloating(true);
+      Platform.runLater(() -> run(node));
+    });
+  }
+
+  private void run(DockNode node) {
+    Stage stage = node.getStage();
+    BorderPane borderPane = node.getBorderPane();
+    stage.widthProperty().addListener((observable, oldValue, newValue) -> widthUpdates++);
+
+    double y = borderPane.getHeight() / 2;
+    double startScreenX = stage.getX() + borderPane.getWidth() - 1;
+    double screenY = stage.getY() + y;
+
+    // hover over the east border so the node picks the resize direction
+    fire(borderPane, MouseEvent.MOUSE_MOVED, borderPane.getWidth() - 1, y, startScreenX, screenY);
+    fire(borderPane, MouseEvent.MOUSE_PRESSED, borderPane.getWidth() - 1, y, startScreenX, screenY);
+
+    new AnimationTimer() {
+      private long start;
+      private double offset;
+      private double step = 1;
+
+      @Override
+      public void handle(long now) {
+        if (start == 0) {
+          start = now;
+        }
+        if (now - start > durationSeconds * 1e9) {
+          stop();
+          report((now - start) / 1e9);
+          Platform.exit();
+          return;
+        }
+
+        pulses++;
+        long dispatchStart = System.nanoTime();
+        for (int i = 0; i < eventsPerPulse; i++) {
+          // sweep back and forth over 200 pixels
+          offset += step;
+          if (offset >= 200 || offset <= 0) {
+            step = -step;
+          }
+          fire(borderPane, MouseEvent.MOUSE_DRAGGED, borderPane.getWidth() - 1, y, startScreenX + offset,
+              screenY);
+          events++;
+        }
+        dispatchNanos += System.nanoTime() - dispatchStart;
+      }
+    }.start();
+  }
+
+  private void fire(BorderPane target, EventType<MouseEvent> type, double x, double y, double screenX,
+      double screenY) {
+    Event.fireEvent(target, new MouseEvent(type, x, y, screenX, screenY, MouseButton.PRIMARY, 1, false, false,
+        false, false, type != MouseEvent.MOUSE_MOVED, false, false, true, false, false, null));
+  }
+
+  private void report(double seconds) {
+    System.out.printf("%d resize events in %.2f s over %d pulses (%d per pulse)%n", events, seconds, pulses,
+        eventsPerPulse);
+    System.out.printf("handler throughput: %.0f events/s%n", events / (dispatchNanos / 1e9));
+    System.out.printf("delivered: %.0f events/s, stage width updates: %.0f/s%n", events / seconds,
+        widthUpdates / seconds);
+  }
+}
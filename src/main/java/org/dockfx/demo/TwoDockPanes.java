@@ -30,13 +30,12 @@ import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextArea;
 import javafx.scene.control.ToolBar;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import org.dockfx.DockNode;
 import org.dockfx.DockPos;
+import org.dockfx.ImageCache;
 
 /**
  * This app creates two dock panes, one over the other. Nodes can be added to either.
@@ -57,8 +56,6 @@ public class TwoDockPanes extends Application {
   private DockPane dp1;
   private DockPane dp2;
   private int counter = 0;
-  private final Image dockImage = 
-    new Image(DockFX.class.getResource("docknode.png").toExternalForm());
 
   @SuppressWarnings("unchecked")
   @Override
@@ -105,7 +102,7 @@ public class TwoDockPanes extends Application {
     String title = dockName + "Node " + counter;
     TextArea ta = new TextArea();
     ta.setText(title + "\n\nJust some test data"); 
-    DockNode dn = new DockNode(ta, title, new ImageView(dockImage));
+    DockNode dn = new DockNode(ta, title, ImageCache.view(DockFX.class, "docknode.png"));
     dn.dock(dp, DockPos.BOTTOM);
   }
 
@@ -100,4 +100,16 @@ public interface ContentPane {
    * @param pane the pane
    */
   void setContentParent(ContentPane pane);
+
+  /**
+   * Drops cached size constraints of this pane and its content parents. Panes track their
+   * children and the explicit size constraints of those, contents whose computed constraints
+   * change otherwise should call this on the pane holding them.
+   */
+  default void invalidateSizeConstraints() {
+    ContentPane parent = getContentParent();
+    if (parent != null) {
+      parent.invalidateSizeConstraints();
+    }
+  }
 }
@@ -1,17 +1,24 @@
 package org.dockfx.pane;
 
-import java.util.Comparator;
 import org.dockfx.DockNode;
+import org.dockfx.DockPane;
 import org.dockfx.DockPos;
 
 import java.util.List;
 import java.util.Stack;
 
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.geometry.Orientation;
+import javafx.geometry.Point2D;
 import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.control.SplitPane;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Region;
 
 /**
  * ContentSplitPane contains multiple SplitPane
@@ -21,12 +28,68 @@ import javafx.scene.control.SplitPane;
  */
 public class ContentSplitPane extends SplitPane implements ContentPane {
 
+	/**
+	 * How dragging a divider updates the split pane.
+	 */
+	public enum DividerDragMode {
+		/**
+		 * The contents are laid out on every mouse move.
+		 */
+		LIVE,
+		/**
+		 * Only a ghost line follows the mouse, the divider moves on release.
+		 */
+		OUTLINE,
+		/**
+		 * The divider follows the mouse at most once per throttle interval.
+		 */
+		THROTTLED
+	}
+
+	/**
+	 * The style class of the dividers created by the split pane skin.
+	 */
+	private static final String DIVIDER_STYLE_CLASS = "split-pane-divider";
+
 	/**
 	 * The Parent.
 	 */
 	ContentPane parent;
 	private double[] lastDividerPositions;
 
+	/**
+	 * The cached maximum width, NaN if it has to be computed again.
+	 */
+	private double cachedMaxWidth = Double.NaN;
+	/**
+	 * The height the cached maximum width was computed for.
+	 */
+	private double cachedMaxWidthHeight;
+
+	private final InvalidationListener sizeConstraintsListener = observable -> invalidateSizeConstraints();
+
+	/**
+	 * The divider drag mode of this pane, null to use the one of the dock pane.
+	 */
+	private final ObjectProperty<DividerDragMode> dividerDragMode = new SimpleObjectProperty<>(this,
+			"dividerDragMode", null);
+	/**
+	 * The throttle interval in milliseconds, negative to use the one of the dock
+	 * pane.
+	 */
+	private long dividerDragThrottle = -1;
+
+	/**
+	 * The divider being dragged in OUTLINE or THROTTLED mode, null otherwise.
+	 */
+	private Node dragDivider;
+	private int dragDividerIndex;
+	private DividerDragMode dragMode;
+	private double dragOffset;
+	private double dragPosition;
+	private long lastDragUpdate;
+	private Region dragGhost;
+
 	public Type getType() {
 		return Type.SplitPane;
 	}
@@ -43,6 +106,26 @@ public class ContentSplitPane extends SplitPane implements ContentPane {
 	 * Instantiates a new ContentSplitPane
 	 */
 	public ContentSplitPane() {
+		getItems().addListener((ListChangeListener<Node>) change -> {
+			while (change.next()) {
+				for (Node node : change.getRemoved()) {
+					if (node instanceof Region) {
+						((Region) node).maxWidthProperty().removeListener(sizeConstraintsListener);
+					}
+				}
+				for (Node node : change.getAddedSubList()) {
+					if (node instanceof Region) {
+						((Region) node).maxWidthProperty().addListener(sizeConstraintsListener);
+					}
+				}
+			}
+			invalidateSizeConstraints();
+		});
+		orientationProperty().addListener(sizeConstraintsListener);
+
+		addEventFilter(MouseEvent.MOUSE_PRESSED, this::startDividerDrag);
+		addEventFilter(MouseEvent.MOUSE_DRAGGED, this::dragDivider);
+		addEventFilter(MouseEvent.MOUSE_RELEASED, this::stopDividerDrag);
 	}
 
 	/**
@@ -177,12 +260,183 @@ public class ContentSplitPane extends SplitPane implements ContentPane {
 	@Override
 	protected double computeMaxWidth(double height) {
 		if ((getOrientation() == Orientation.VERTICAL) && (!getItems().isEmpty())) {
-			return getItems().stream().map(i -> i.maxWidth(height)).min(Comparator.naturalOrder()).get();
+			if (Double.isNaN(cachedMaxWidth) || cachedMaxWidthHeight != height) {
+				double maxWidth = Double.MAX_VALUE;
+				for (Node item : getItems()) {
+					maxWidth = Math.min(maxWidth, item.maxWidth(height));
+				}
+				cachedMaxWidth = maxWidth;
+				cachedMaxWidthHeight = height;
+			}
+			return cachedMaxWidth;
 		}
 
 		return super.computeMaxWidth(height);
 	}
 
+	@Override
+	public void invalidateSizeConstraints() {
+		cachedMaxWidth = Double.NaN;
+		requestLayout();
+		ContentPane.super.invalidateSizeConstraints();
+	}
+
+	/**
+	 * The divider drag mode of this pane. When null, the mode of the enclosing
+	 * dock pane applies.
+	 *
+	 * @return the divider drag mode property
+	 */
+	public final ObjectProperty<DividerDragMode> dividerDragModeProperty() {
+		return dividerDragMode;
+	}
+
+	public final DividerDragMode getDividerDragMode() {
+		return dividerDragMode.get();
+	}
+
+	public final void setDividerDragMode(DividerDragMode dividerDragMode) {
+		this.dividerDragMode.set(dividerDragMode);
+	}
+
+	public long getDividerDragThrottle() {
+		return dividerDragThrottle;
+	}
+
+	/**
+	 * Sets how many milliseconds apart the divider moves at most in THROTTLED
+	 * mode. A negative value uses the throttle of the enclosing dock pane.
+	 *
+	 * @param dividerDragThrottle
+	 *            the throttle interval in milliseconds
+	 */
+	public void setDividerDragThrottle(long dividerDragThrottle) {
+		this.dividerDragThrottle = dividerDragThrottle;
+	}
+
+	private DockPane getDockPane() {
+		Parent parent = getParent();
+		while (parent != null && !(parent instanceof DockPane)) {
+			parent = parent.getParent();
+		}
+		return (DockPane) parent;
+	}
+
+	private DividerDragMode resolveDividerDragMode() {
+		if (getDividerDragMode() != null) {
+			return getDividerDragMode();
+		}
+		DockPane dockPane = getDockPane();
+		return dockPane != null ? dockPane.getDividerDragMode() : DividerDragMode.LIVE;
+	}
+
+	private long resolveDividerDragThrottle() {
+		if (dividerDragThrottle >= 0) {
+			return dividerDragThrottle;
+		}
+		DockPane dockPane = getDockPane();
+		return dockPane != null ? dockPane.getDividerDragThrottle() : 0;
+	}
+
+	/**
+	 * Finds the divider of this pane, not of a nested one, the event target is
+	 * part of.
+	 */
+	private Node findDivider(Object target) {
+		if (!(target instanceof Node)) {
+			return null;
+		}
+		Node node = (Node) target;
+		while (node != null && node.getParent() != this) {
+			node = node.getParent();
+		}
+		return node != null && node.getStyleClass().contains(DIVIDER_STYLE_CLASS) ? node : null;
+	}
+
+	private double axis(Point2D point) {
+		return getOrientation() == Orientation.HORIZONTAL ? point.getX() : point.getY();
+	}
+
+	private void startDividerDrag(MouseEvent event) {
+		DividerDragMode mode = resolveDividerDragMode();
+		Node divider = findDivider(event.getTarget());
+		if (mode == DividerDragMode.LIVE || divider == null) {
+			return;
+		}
+
+		dragDivider = divider;
+		dragMode = mode;
+		dragDividerIndex = 0;
+		for (Node child : getChildrenUnmodifiable()) {
+			if (child == divider) {
+				break;
+			}
+			if (child.getStyleClass().contains(DIVIDER_STYLE_CLASS)) {
+				dragDividerIndex++;
+			}
+		}
+
+		Point2D mouse = sceneToLocal(event.getSceneX(), event.getSceneY());
+		dragOffset = axis(mouse) - (getOrientation() == Orientation.HORIZONTAL ? divider.getLayoutX()
+				: divider.getLayoutY());
+		dragPosition = getDividerPositions()[dragDividerIndex];
+		lastDragUpdate = 0;
+
+		if (mode == DividerDragMode.OUTLINE) {
+			dragGhost = new Region();
+			dragGhost.getStyleClass().add(DIVIDER_STYLE_CLASS + "-ghost");
+			dragGhost.setManaged(false);
+			dragGhost.setMouseTransparent(true);
+			dragGhost.resizeRelocate(divider.getLayoutX(), divider.getLayoutY(),
+					divider.getLayoutBounds().getWidth(), divider.getLayoutBounds().getHeight());
+			getChildren().add(dragGhost);
+		}
+		event.consume();
+	}
+
+	private void dragDivider(MouseEvent event) {
+		if (dragDivider == null) {
+			return;
+		}
+		event.consume();
+
+		Point2D mouse = sceneToLocal(event.getSceneX(), event.getSceneY());
+		boolean horizontal = getOrientation() == Orientation.HORIZONTAL;
+		double size = horizontal ? getWidth() : getHeight();
+		double dividerSize = horizontal ? dragDivider.getLayoutBounds().getWidth()
+				: dragDivider.getLayoutBounds().getHeight();
+		double start = Math.max(0, Math.min(size - dividerSize, axis(mouse) - dragOffset));
+		dragPosition = size > 0 ? (start + dividerSize / 2) / size : 0;
+
+		if (dragMode == DividerDragMode.OUTLINE) {
+			if (horizontal) {
+				dragGhost.setLayoutX(start);
+			} else {
+				dragGhost.setLayoutY(start);
+			}
+		} else {
+			long now = System.currentTimeMillis();
+			if (now - lastDragUpdate >= resolveDividerDragThrottle()) {
+				lastDragUpdate = now;
+				setDividerPosition(dragDividerIndex, dragPosition);
+			}
+		}
+	}
+
+	private void stopDividerDrag(MouseEvent event) {
+		if (dragDivider == null) {
+			return;
+		}
+		event.consume();
+
+		if (dragGhost != null) {
+			getChildren().remove(dragGhost);
+			dragGhost = null;
+		}
+		setDividerPosition(dragDividerIndex, dragPosition);
+		dragDivider = null;
+	}
+
 	public void resetDividerPositions() {
 		if (lastDividerPositions != null && lastDividerPositions.length == getDividerPositions().length)
 			this.setDividerPositions(lastDividerPositions);
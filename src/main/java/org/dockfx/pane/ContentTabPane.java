@@ -1,6 +1,5 @@
 package org.dockfx.pane;
 
-import java.util.Comparator;
 import org.dockfx.DockNode;
 import org.dockfx.DockPos;
 
@@ -9,9 +8,17 @@ import java.util.Stack;
 
 import java.util.stream.Collectors;
 
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleIntegerProperty;
 import javafx.scene.Node;
 import javafx.scene.Parent;
+import javafx.collections.ListChangeListener;
+import javafx.scene.control.Tab;
 import javafx.scene.control.TabPane;
+import javafx.scene.layout.Region;
 
 /**
  * ContentTabPane holds multiple tabs
@@ -22,8 +29,129 @@ public class ContentTabPane extends TabPane implements ContentPane {
 
   ContentPane parent;
 
+  /**
+   * The cached maximum width, NaN if it has to be computed again
+   */
+  private double cachedMaxWidth = Double.NaN;
+  private double cachedMaxWidthHeight;
+
+  private final InvalidationListener sizeConstraintsListener = observable -> invalidateSizeConstraints();
+
+  /**
+   * Whether the contents of unselected tabs are detached from the scene graph
+   */
+  private final BooleanProperty detachUnselectedTabs =
+      new SimpleBooleanProperty(this, "detachUnselectedTabs", false);
+
+  /**
+   * The number of recently selected tabs that stay attached besides the selected one
+   */
+  private final IntegerProperty warmTabCacheSize = new SimpleIntegerProperty(this, "warmTabCacheSize", 0);
+
+  /**
+   * Whether tab headers outside of the visible part of the header strip are culled
+   */
+  private final BooleanProperty virtualizedHeaders = new SimpleBooleanProperty(this, "virtualizedHeaders", false);
+
+  /**
+   * Whether snapshots of tab contents are kept for thumbnails and switch previews
+   */
+  private final BooleanProperty tabSnapshots = new SimpleBooleanProperty(this, "tabSnapshots", false);
+
   public ContentTabPane() {
     this.setStyle("-fx-skin: \"org.dockfx.pane.skin.ContentTabPaneSkin\";");
+
+    getTabs().addListener((ListChangeListener<Tab>) change -> {
+      while (change.next()) {
+        for (Tab tab : change.getRemoved()) {
+          if (tab.getContent() instanceof Region) {
+            ((Region) tab.getContent()).maxWidthProperty().removeListener(sizeConstraintsListener);
+          }
+        }
+        for (Tab tab : change.getAddedSubList()) {
+          if (tab.getContent() instanceof Region) {
+            ((Region) tab.getContent()).maxWidthProperty().addListener(sizeConstraintsListener);
+          }
+        }
+      }
+      invalidateSizeConstraints();
+    });
+  }
+
+  /**
+   * Whether only the content of the selected tab is kept in the scene graph. The contents of
+   * the other tabs stay alive but take no part in CSS, layout and picking until they are
+   * selected again.
+   *
+   * @return the detach unselected tabs property
+   */
+  public final BooleanProperty detachUnselectedTabsProperty() {
+    return detachUnselectedTabs;
+  }
+
+  public final boolean isDetachUnselectedTabs() {
+    return detachUnselectedTabs.get();
+  }
+
+  public final void setDetachUnselectedTabs(boolean detachUnselectedTabs) {
+    this.detachUnselectedTabs.set(detachUnselectedTabs);
+  }
+
+  /**
+   * The number of most recently selected tabs whose contents stay attached when unselected
+   * tabs are detached, so switching between them does not cost a reattach.
+   *
+   * @return the warm tab cache size property
+   */
+  public final IntegerProperty warmTabCacheSizeProperty() {
+    return warmTabCacheSize;
+  }
+
+  public final int getWarmTabCacheSize() {
+    return warmTabCacheSize.get();
+  }
+
+  public final void setWarmTabCacheSize(int warmTabCacheSize) {
+    this.warmTabCacheSize.set(warmTabCacheSize);
+  }
+
+  /**
+   * Whether only the tab headers inside the visible part of the header strip are live. The
+   * other headers release their graphic and keep their last measured size, so that a large
+   * number of tabs costs layout only for the headers that can be seen.
+   *
+   * @return the virtualized headers property
+   */
+  public final BooleanProperty virtualizedHeadersProperty() {
+    return virtualizedHeaders;
+  }
+
+  public final boolean isVirtualizedHeaders() {
+    return virtualizedHeaders.get();
+  }
+
+  public final void setVirtualizedHeaders(boolean virtualizedHeaders) {
+    this.virtualizedHeaders.set(virtualizedHeaders);
+  }
+
+  /**
+   * Whether the contents of a tab are captured when it is switched away from. The snapshot is
+   * shown as a thumbnail when hovering the tab header and as a preview for one frame when the
+   * tab is selected again, while the real content lays out. Snapshots share the memory budget
+   * of {@link org.dockfx.pane.skin.TabSnapshotCache}.
+   *
+   * @return the tab snapshots property
+   */
+  public final BooleanProperty tabSnapshotsProperty() {
+    return tabSnapshots;
+  }
+
+  public final boolean isTabSnapshots() {
+    return tabSnapshots.get();
+  }
+
+  public final void setTabSnapshots(boolean tabSnapshots) {
+    this.tabSnapshots.set(tabSnapshots);
   }
 
   public Type getType() {
@@ -76,7 +204,7 @@ public class ContentTabPane extends TabPane implements ContentPane {
 
   public void set(int idx, Node node) {
     DockNode newNode = (DockNode) node;
-    getTabs().set(idx, new DockNodeTab(newNode));
+    getTabs().set(idx, DockNodeTab.of(newNode));
 	getSelectionModel().select( idx );
   }
 
@@ -90,7 +218,7 @@ public class ContentTabPane extends TabPane implements ContentPane {
 
   public void addNode(Node root, Node sibling, Node node, DockPos dockPos) {
     DockNode newNode = (DockNode) node;
-	DockNodeTab t = new DockNodeTab(newNode);
+	DockNodeTab t = DockNodeTab.of(newNode);
 	addDockNodeTab( t );
   }
 
@@ -102,6 +230,26 @@ public class ContentTabPane extends TabPane implements ContentPane {
 
   @Override
   protected double computeMaxWidth(double height) {
-    return getTabs().stream().map(i -> i.getContent().maxWidth(height)).min(Comparator.naturalOrder()).get();
+    if (getTabs().isEmpty()) {
+      return super.computeMaxWidth(height);
+    }
+    if (Double.isNaN(cachedMaxWidth) || cachedMaxWidthHeight != height) {
+      double maxWidth = Double.MAX_VALUE;
+      for (Tab tab : getTabs()) {
+        if (tab.getContent() != null) {
+          maxWidth = Math.min(maxWidth, tab.getContent().maxWidth(height));
+        }
+      }
+      cachedMaxWidth = maxWidth;
+      cachedMaxWidthHeight = height;
+    }
+    return cachedMaxWidth;
+  }
+
+  @Override
+  public void invalidateSizeConstraints() {
+    cachedMaxWidth = Double.NaN;
+    requestLayout();
+    ContentPane.super.invalidateSizeConstraints();
   }
 }
@@ -6,7 +6,8 @@ import javafx.beans.property.SimpleStringProperty;
 import javafx.scene.control.Tab;
 
 /**
- * DockNodeTab class holds Tab for ContentTabPane
+ * DockNodeTab class holds Tab for ContentTabPane. Every DockNode has one tab which is reused
+ * whenever the node enters a tab group and detached when it leaves.
  *
  * @author HongKee Moon
  */
@@ -21,12 +22,51 @@ public class DockNodeTab extends Tab {
     setClosable(false);
 
     title = new SimpleStringProperty("");
-    title.bind(dockNode.titleProperty());
+	dockNode.setNodeTab( this );
+    attach();
+  }
 
+  /**
+   * Returns the tab of the given node, attached and ready to be added to a tab group.
+   *
+   * @param node the dock node entering a tab group
+   * @return the tab of the node
+   */
+  public static DockNodeTab of(DockNode node) {
+    DockNodeTab tab = node.getNodeTab();
+    if (tab == null) {
+      return new DockNodeTab(node);
+    }
+    tab.attach();
+    return tab;
+  }
+
+  private void attach() {
+    if (getTabPane() != null) {
+      getTabPane().getTabs().remove(this);
+    }
+    title.bind(dockNode.titleProperty());
     setGraphic(dockNode.getDockTitleBar());
     setContent(dockNode);
     dockNode.tabbedProperty().set(true);
-	dockNode.setNodeTab( this );
+  }
+
+  /**
+   * Releases the node when it leaves its tab group, so the title bar can go back to the node
+   * and the tab holds no bindings while unused.
+   */
+  public void detach() {
+    title.unbind();
+    if (getTabPane() != null) {
+      getTabPane().getTabs().remove(this);
+    }
+    setGraphic(null);
+    setContent(null);
+  }
+
+  public DockNode getDockNode()
+  {
+    return dockNode;
   }
 
   public String getTitle()
@@ -4,10 +4,12 @@ package org.dockfx.pane.skin;
 import com.sun.javafx.scene.control.skin.BehaviorSkinBase;
 import com.sun.javafx.util.Utils;
 import javafx.animation.Animation;
+import javafx.animation.AnimationTimer;
 import javafx.animation.Interpolator;
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
 import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
 import javafx.beans.WeakInvalidationListener;
@@ -34,7 +36,9 @@ import javafx.scene.AccessibleAction;
 import javafx.scene.AccessibleAttribute;
 import javafx.scene.AccessibleRole;
 import javafx.scene.Node;
+import javafx.scene.control.ContentDisplay;
 import javafx.scene.control.ContextMenu;
+import javafx.scene.control.CustomMenuItem;
 import javafx.scene.control.Label;
 import javafx.scene.control.MenuItem;
 import javafx.scene.control.RadioMenuItem;
@@ -42,9 +46,11 @@ import javafx.scene.control.SkinBase;
 import javafx.scene.control.Tab;
 import javafx.scene.control.TabPane;
 import javafx.scene.control.TabPane.TabClosingPolicy;
+import javafx.scene.control.TextField;
 import javafx.scene.control.ToggleGroup;
 import javafx.scene.control.Tooltip;
 import javafx.scene.effect.DropShadow;
+import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.ContextMenuEvent;
 import javafx.scene.input.MouseButton;
@@ -60,8 +66,13 @@ import javafx.util.Duration;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
 
 import com.sun.javafx.css.converters.EnumConverter;
 import com.sun.javafx.scene.control.MultiplePropertyChangeListenerHandler;
@@ -69,6 +80,8 @@ import com.sun.javafx.scene.control.behavior.TabPaneBehavior;
 import com.sun.javafx.scene.traversal.Direction;
 import com.sun.javafx.scene.traversal.TraversalEngine;
 
+import org.dockfx.AnimationPolicy;
+import org.dockfx.pane.ContentTabPane;
 import org.dockfx.pane.DockNodeTab;
 
 import static com.sun.javafx.scene.control.skin.resources.ControlResources.getString;
@@ -155,9 +168,13 @@ private ObjectProperty<TabAnimation> closeTabAnimation = new StyleableObjectProp
   }
 private static final double ANIMATION_SPEED = 150;
 private static final int SPACER = 10;
+// the overflow menu offers a search field from this number of tabs on
+private static final int SEARCH_THRESHOLD = 8;
+private static final double THUMBNAIL_WIDTH = 240;
 
 private TabHeaderArea tabHeaderArea;
 private ObservableList<TabContentRegion> tabContentRegions;
+private final LinkedList<TabContentRegion> recentContentRegions = new LinkedList<>();
 private Rectangle clipRect;
 private Rectangle tabHeaderAreaClipRect;
 private Tab selectedTab;
@@ -189,6 +206,12 @@ private boolean isSelectingTab;
     registerChangeListener(tabPane.sideProperty(), "SIDE");
     registerChangeListener(tabPane.widthProperty(), "WIDTH");
     registerChangeListener(tabPane.heightProperty(), "HEIGHT");
+    if (tabPane instanceof ContentTabPane) {
+      registerChangeListener(((ContentTabPane) tabPane).detachUnselectedTabsProperty(), "DETACH_UNSELECTED_TABS");
+      registerChangeListener(((ContentTabPane) tabPane).warmTabCacheSizeProperty(), "WARM_TAB_CACHE_SIZE");
+      registerChangeListener(((ContentTabPane) tabPane).virtualizedHeadersProperty(), "VIRTUALIZED_HEADERS");
+      registerChangeListener(((ContentTabPane) tabPane).tabSnapshotsProperty(), "TAB_SNAPSHOTS");
+    }
 
     selectedTab = getSkinnable().getSelectionModel().getSelectedItem();
     // Could not find the selected tab try and get the selected tab using the selected index
@@ -202,10 +225,18 @@ private boolean isSelectingTab;
     }
     selectedTab = getSkinnable().getSelectionModel().getSelectedItem();
     isSelectingTab = false;
+    updateAttachedContent();
 
     initializeSwipeHandlers();
   }
 
+  @Override public void dispose() {
+    for (TabContentRegion contentRegion : tabContentRegions) {
+      contentRegion.removeListeners(contentRegion.getTab());
+    }
+    super.dispose();
+  }
+
   public StackPane getSelectedTabContentRegion() {
     for (TabContentRegion contentRegion : tabContentRegions) {
       if (contentRegion.getTab().equals(selectedTab)) {
@@ -220,7 +251,25 @@ private boolean isSelectingTab;
     if ("SELECTED_TAB".equals(property)) {
       isSelectingTab = true;
       selectedTab = getSkinnable().getSelectionModel().getSelectedItem();
+      updateAttachedContent();
       getSkinnable().requestLayout();
+    } else if ("DETACH_UNSELECTED_TABS".equals(property) || "WARM_TAB_CACHE_SIZE".equals(property)) {
+      updateAttachedContent();
+    } else if ("VIRTUALIZED_HEADERS".equals(property)) {
+      tabHeaderArea.headersRegion.requestLayout();
+    } else if ("TAB_SNAPSHOTS".equals(property)) {
+      for (TabContentRegion contentRegion : tabContentRegions) {
+        contentRegion.updateSnapshotRefresh();
+      }
+      for (Tab tab : getSkinnable().getTabs()) {
+        if (!isTabSnapshots()) {
+          TabSnapshotCache.release(tab);
+        }
+        TabHeaderSkin tabHeader = tabHeaderArea.getTabHeaderSkin(tab);
+        if (tabHeader != null) {
+          tabHeader.updateThumbnail();
+        }
+      }
     } else if ("SIDE".equals(property)) {
       updateTabPosition();
     } else if ("WIDTH".equals(property)) {
@@ -239,24 +288,7 @@ private boolean isSelectingTab;
 
         tabRegion.removeListeners(tab);
         removeTabContent(tab);
-
-        // remove the menu item from the popup menu
-        ContextMenu popupMenu = tabHeaderArea.controlButtons.popup;
-        TabMenuItem tabItem = null;
-        if (popupMenu != null) {
-          for (MenuItem item : popupMenu.getItems()) {
-            tabItem = (TabMenuItem) item;
-            if (tab == tabItem.getTab()) {
-              break;
-            }
-            tabItem = null;
-          }
-        }
-        if (tabItem != null) {
-          tabItem.dispose();
-          popupMenu.getItems().remove(tabItem);
-        }
-        // end of removing menu item
+        // the menu item of the tab is removed by the control buttons
 
         EventHandler<ActionEvent> cleanup = ae -> {
           tabRegion.animationState = TabAnimationState.NONE;
@@ -268,7 +300,7 @@ private boolean isSelectingTab;
           }
         };
 
-        if (closeTabAnimation.get() == TabAnimation.GROW) {
+        if (isAnimated(closeTabAnimation.get())) {
           tabRegion.animationState = TabAnimationState.HIDING;
           Timeline closedTabTimeline = tabRegion.currentAnimation =
               createTimeline(tabRegion, Duration.millis(ANIMATION_SPEED), 0.0F, cleanup);
@@ -317,7 +349,7 @@ private boolean isSelectingTab;
       addTabContent(tab);
       final TabHeaderSkin tabRegion = tabHeaderArea.getTabHeaderSkin(tab);
       if (tabRegion != null) {
-        if (openTabAnimation.get() == TabAnimation.GROW) {
+        if (isAnimated(openTabAnimation.get())) {
           tabRegion.animationState = TabAnimationState.SHOWING;
           tabRegion.animationTransition.setValue(0.0);
           tabRegion.setVisible(true);
@@ -408,8 +440,12 @@ private boolean isSelectingTab;
     TabContentRegion tabContentRegion = new TabContentRegion(tab);
     tabContentRegion.setClip(new Rectangle());
     tabContentRegions.add(tabContentRegion);
-    // We want the tab content to always sit below the tab headers
-    getChildren().add(0, tabContentRegion);
+    // the content of an unselected tab is attached once it gets selected
+    tabContentRegion.attached = !isDetachUnselectedTabs() || tab.isSelected();
+    if (tabContentRegion.attached) {
+      // We want the tab content to always sit below the tab headers
+      getChildren().add(0, tabContentRegion);
+    }
   }
 
   private void removeTabContent(Tab tab) {
@@ -418,17 +454,79 @@ private boolean isSelectingTab;
         contentRegion.removeListeners(tab);
         getChildren().remove(contentRegion);
         tabContentRegions.remove(contentRegion);
+        recentContentRegions.remove(contentRegion);
+        TabSnapshotCache.release(tab);
         break;
       }
     }
   }
 
+  // refreshes the snapshots of the selected tabs of all tab panes
+  private static Timer snapshotTimer;
+
+  private static synchronized Timer getSnapshotTimer() {
+    if (snapshotTimer == null) {
+      snapshotTimer = new Timer("DockFX tab snapshots", true);
+    }
+    return snapshotTimer;
+  }
+
+  private boolean isTabSnapshots() {
+    return getSkinnable() instanceof ContentTabPane && ((ContentTabPane) getSkinnable()).isTabSnapshots();
+  }
+
+  private boolean isVirtualizedHeaders() {
+    return getSkinnable() instanceof ContentTabPane && ((ContentTabPane) getSkinnable()).isVirtualizedHeaders();
+  }
+
+  private boolean isDetachUnselectedTabs() {
+    return getSkinnable() instanceof ContentTabPane && ((ContentTabPane) getSkinnable()).isDetachUnselectedTabs();
+  }
+
+  /**
+   * Keeps the content of the selected tab and the most recently selected ones in the scene
+   * graph, and detaches the others when the tab pane asks for it.
+   */
+  private void updateAttachedContent() {
+    boolean detach = isDetachUnselectedTabs();
+
+    StackPane selectedRegion = getSelectedTabContentRegion();
+    if (selectedRegion != null) {
+      recentContentRegions.remove(selectedRegion);
+      recentContentRegions.addFirst((TabContentRegion) selectedRegion);
+    }
+    int attachedCount = 1 + (detach ? Math.max(0, ((ContentTabPane) getSkinnable()).getWarmTabCacheSize()) : 0);
+    while (recentContentRegions.size() > attachedCount) {
+      recentContentRegions.removeLast();
+    }
+
+    for (TabContentRegion contentRegion : tabContentRegions) {
+      boolean attached = !detach || recentContentRegions.contains(contentRegion);
+      if (attached && !contentRegion.attached) {
+        getChildren().add(0, contentRegion);
+      } else if (!attached && contentRegion.attached) {
+        getChildren().remove(contentRegion);
+      }
+      contentRegion.attached = attached;
+    }
+  }
+
   private void updateTabPosition() {
     tabHeaderArea.setScrollOffset(0.0F);
     getSkinnable().applyCss();
     getSkinnable().requestLayout();
   }
 
+  /**
+   * Tabs are only animated when the policy allows it and the tab pane can be seen.
+   */
+  private boolean isAnimated(TabAnimation tabAnimation) {
+    TabPane tabPane = getSkinnable();
+    return tabAnimation == TabAnimation.GROW && AnimationPolicy.getCurrent().allowsTransitions() &&
+           tabPane.getScene() != null && tabPane.getScene().getWindow() != null &&
+           tabPane.getScene().getWindow().isShowing();
+  }
+
   private Timeline createTimeline(final TabHeaderSkin tabRegion, final Duration duration, final double endValue, final EventHandler<ActionEvent> func) {
     Timeline timeline = new Timeline();
     timeline.setCycleCount(1);
@@ -467,6 +565,9 @@ private double maxw = 0.0d;
   @Override protected double computePrefWidth(double height, double topInset, double rightInset, double bottomInset, double leftInset) {
     // The TabPane can only be as wide as it widest content width.
     for (TabContentRegion contentRegion: tabContentRegions) {
+      if (!contentRegion.attached) {
+        continue;
+      }
       maxw = Math.max(maxw, snapSize(contentRegion.prefWidth(-1)));
     }
 
@@ -483,6 +584,9 @@ private double maxh = 0.0d;
   @Override protected double computePrefHeight(double width, double topInset, double rightInset, double bottomInset, double leftInset) {
     // The TabPane can only be as high as it highest content height.
     for (TabContentRegion contentRegion: tabContentRegions) {
+      if (!contentRegion.attached) {
+        continue;
+      }
       maxh = Math.max(maxh, snapSize(contentRegion.prefHeight(-1)));
     }
 
@@ -585,6 +689,10 @@ private double maxh = 0.0d;
 
     for (int i = 0, max = tabContentRegions.size(); i < max; i++) {
       TabContentRegion tabContent = tabContentRegions.get(i);
+      if (!tabContent.attached) {
+        // sized when it is attached again
+        continue;
+      }
 
       tabContent.setAlignment(Pos.TOP_LEFT);
       if (tabContent.getClip() != null) {
@@ -705,7 +813,8 @@ class TabHeaderArea extends StackPane {
       }
 
       @Override protected void layoutChildren() {
-        if (tabsFit()) {
+        final boolean tabsFit = tabsFit();
+        if (tabsFit) {
           setScrollOffset(0.0);
         } else {
           if (!removeTab.isEmpty()) {
@@ -745,25 +854,41 @@ class TabHeaderArea extends StackPane {
                       snapSize(getWidth()) - getScrollOffset() : getScrollOffset();
 
         updateHeaderClip();
+
+        // headers outside of the clip are culled: they are hidden and only their
+        // last width is used to advance the position, they are neither resized
+        // nor relocated
+        final boolean virtualized = !tabsFit && isVirtualizedHeaders();
+        final double visibleStart = headerClip.getX();
+        final double visibleEnd = visibleStart + headerClip.getWidth();
+
         for (Node node : getChildren()) {
           TabHeaderSkin tabHeader = (TabHeaderSkin)node;
 
           // size and position the header relative to the other headers
           double tabHeaderPrefWidth = snapSize(tabHeader.prefWidth(-1) * tabHeader.animationTransition.get());
-          double tabHeaderPrefHeight = snapSize(tabHeader.prefHeight(-1));
-          tabHeader.resize(tabHeaderPrefWidth, tabHeaderPrefHeight);
-
-          // This ensures that the tabs are located in the correct position
-          // when there are tabs of differing heights.
-          double startY = tabPosition.equals(Side.BOTTOM) ?
-                          0 : tabBackgroundHeight - tabHeaderPrefHeight - snappedBottomInset();
-          if (tabPosition.equals(Side.LEFT) || tabPosition.equals(Side.BOTTOM)) {
+          boolean buildFromRight = tabPosition.equals(Side.LEFT) || tabPosition.equals(Side.BOTTOM);
+          double tabStart = buildFromRight ? tabX - tabHeaderPrefWidth : tabX;
+          boolean culled = virtualized && tabHeader.isCullable() &&
+                           (tabStart + tabHeaderPrefWidth <= visibleStart || tabStart >= visibleEnd);
+          tabHeader.setCulled(culled);
+
+          if (!culled) {
+            double tabHeaderPrefHeight = snapSize(tabHeader.prefHeight(-1));
+            tabHeader.resize(tabHeaderPrefWidth, tabHeaderPrefHeight);
+
+            // This ensures that the tabs are located in the correct position
+            // when there are tabs of differing heights.
+            double startY = tabPosition.equals(Side.BOTTOM) ?
+                            0 : tabBackgroundHeight - tabHeaderPrefHeight - snappedBottomInset();
+            tabHeader.relocate(tabStart, startY);
+          }
+
+          if (buildFromRight) {
             // build from the right
             tabX -= tabHeaderPrefWidth;
-            tabHeader.relocate(tabX, startY);
           } else {
             // build from the left
-            tabHeader.relocate(tabX, startY);
             tabX += tabHeaderPrefWidth;
           }
         }
@@ -1101,6 +1226,17 @@ class TabHeaderSkin extends StackPane {
 
   private boolean isClosing = false;
 
+  private boolean culled = false;
+  private double culledWidth;
+  private double culledHeight;
+  private boolean graphicReleasePending = false;
+
+  private Tooltip thumbnail;
+
+  // measured once and kept until something that affects the size changes
+  private double measuredWidth = -1;
+  private double measuredHeight = -1;
+
   private MultiplePropertyChangeListenerHandler listener =
       new MultiplePropertyChangeListenerHandler(param -> {
         handlePropertyChanged(param);
@@ -1111,6 +1247,7 @@ class TabHeaderSkin extends StackPane {
     @Override
     public void onChanged(Change<? extends String> c) {
       getStyleClass().setAll(tab.getStyleClass());
+      invalidateMeasurements();
     }
   };
 
@@ -1288,6 +1425,12 @@ class TabHeaderSkin extends StackPane {
     listener.registerChangeListener(getSkinnable().tabMaxWidthProperty(), "TAB_MAX_WIDTH");
     listener.registerChangeListener(getSkinnable().tabMinHeightProperty(), "TAB_MIN_HEIGHT");
     listener.registerChangeListener(getSkinnable().tabMaxHeightProperty(), "TAB_MAX_HEIGHT");
+    listener.registerChangeListener(insetsProperty(), "INSETS");
+    listener.registerChangeListener(label.fontProperty(), "LABEL_FONT");
+    listener.registerChangeListener(label.needsLayoutProperty(), "LABEL_NEEDS_LAYOUT");
+    if (tab instanceof DockNodeTab) {
+      listener.registerChangeListener(((DockNodeTab) tab).titleProperty(), "TITLE");
+    }
 
     getProperties().put(Tab.class, tab);
     getProperties().put(ContextMenu.class, tab.getContextMenu());
@@ -1329,12 +1472,23 @@ class TabHeaderSkin extends StackPane {
   }
 
   private void handlePropertyChanged(final String p) {
+    if ("LABEL_NEEDS_LAYOUT".equals(p)) {
+      // the text or the graphic of the label, like the title bar, changed
+      if (label.isNeedsLayout()) {
+        invalidateMeasurements();
+      }
+      return;
+    } else if (!"CONTEXT_MENU".equals(p) && !"TOOLTIP".equals(p)) {
+      invalidateMeasurements();
+    }
+
     // --- Tab properties
     if ("CLOSABLE".equals(p)) {
       inner.requestLayout();
       requestLayout();
     } else if ("SELECTED".equals(p)) {
       pseudoClassStateChanged(SELECTED_PSEUDOCLASS_STATE, tab.isSelected());
+      updateThumbnail();
       // Need to request a layout pass for inner because if the width
       // and height didn't not change the label or close button may have
       // changed.
@@ -1343,7 +1497,9 @@ class TabHeaderSkin extends StackPane {
     } else if ("TEXT".equals(p)) {
       label.setText(getTab().getText());
     } else if ("GRAPHIC".equals(p)) {
-      label.setGraphic(getTab().getGraphic());
+      if (!culled) {
+        label.setGraphic(getTab().getGraphic());
+      }
     } else if ("CONTEXT_MENU".equals(p)) {
       // todo
     } else if ("TOOLTIP".equals(p)) {
@@ -1357,6 +1513,7 @@ class TabHeaderSkin extends StackPane {
         Tooltip.install(this, tooltip);
         oldTooltip = tooltip;
       }
+      updateThumbnail();
     } else if ("DISABLE".equals(p)) {
       pseudoClassStateChanged(DISABLED_PSEUDOCLASS_STATE, tab.isDisable());
       inner.requestLayout();
@@ -1422,10 +1579,92 @@ class TabHeaderSkin extends StackPane {
     getChildren().clear();
   }
 
+  /**
+   * Installs a tooltip showing the cached snapshot of an unselected tab. The image is only
+   * referenced while the tooltip shows, so the cache alone decides what stays in memory.
+   */
+  private void updateThumbnail() {
+    boolean show = isTabSnapshots() && !tab.isSelected() && tab.getTooltip() == null &&
+                   TabSnapshotCache.get(tab) != null;
+    if (show && thumbnail == null) {
+      ImageView view = new ImageView();
+      view.setPreserveRatio(true);
+      view.setFitWidth(THUMBNAIL_WIDTH);
+
+      thumbnail = new Tooltip();
+      thumbnail.getStyleClass().add("tab-thumbnail");
+      thumbnail.setGraphic(view);
+      thumbnail.setContentDisplay(ContentDisplay.TOP);
+      thumbnail.setOnShowing(event -> {
+        view.setImage(TabSnapshotCache.get(tab));
+        thumbnail.setText(tab instanceof DockNodeTab ? ((DockNodeTab) tab).getTitle() : tab.getText());
+      });
+      thumbnail.setOnHidden(event -> view.setImage(null));
+      Tooltip.install(this, thumbnail);
+    } else if (!show && thumbnail != null) {
+      Tooltip.uninstall(this, thumbnail);
+      thumbnail = null;
+    }
+  }
+
+  private void invalidateMeasurements() {
+    if (measuredWidth < 0 && measuredHeight < 0) {
+      return;
+    }
+    measuredWidth = -1;
+    measuredHeight = -1;
+    requestLayout();
+  }
+
+  /**
+   * The selected header, which may be dragged, and animating headers are never culled.
+   */
+  private boolean isCullable() {
+    return !tab.isSelected() && !isClosing && animationState == TabAnimationState.NONE;
+  }
+
+  /**
+   * A culled header keeps the size it had with its graphic and is hidden, so it is neither
+   * rendered nor picked at the position it was last laid out at. It also releases its graphic,
+   * usually the title bar of the dock node, once the layout pass that culled it is over. The
+   * graphic is back before the header is shown again, so it is laid out with it right away.
+   */
+  private void setCulled(boolean culled) {
+    if (this.culled == culled) {
+      return;
+    }
+    if (culled) {
+      culledWidth = snapSize(prefWidth(-1));
+      culledHeight = snapSize(prefHeight(-1));
+    } else if (label.getGraphic() != tab.getGraphic()) {
+      label.setGraphic(tab.getGraphic());
+      updateGraphicRotation();
+    }
+    this.culled = culled;
+    setVisible(!culled);
+    if (culled && !graphicReleasePending) {
+      graphicReleasePending = true;
+      Platform.runLater(this::releaseCulledGraphic);
+    }
+  }
+
+  private void releaseCulledGraphic() {
+    graphicReleasePending = false;
+    if (culled) {
+      label.setGraphic(null);
+    }
+  }
+
   private TabAnimationState animationState = TabAnimationState.NONE;
   private Timeline currentAnimation;
 
   @Override protected double computePrefWidth(double height) {
+    if (culled) {
+      return culledWidth;
+    }
+    if (measuredWidth >= 0) {
+      return measuredWidth;
+    }
 //            if (animating) {
 //                return prefWidth.getValue();
 //            }
@@ -1447,10 +1686,17 @@ class TabHeaderSkin extends StackPane {
     }
     tmpPrefWidth += paddingRight + paddingLeft;
 //            prefWidth.setValue(tmpPrefWidth);
+    measuredWidth = tmpPrefWidth;
     return tmpPrefWidth;
   }
 
   @Override protected double computePrefHeight(double width) {
+    if (culled) {
+      return culledHeight;
+    }
+    if (measuredHeight >= 0) {
+      return measuredHeight;
+    }
     double minHeight = snapSize(getSkinnable().getTabMinHeight());
     double maxHeight = snapSize(getSkinnable().getTabMaxHeight());
     double paddingTop = snappedTopInset();
@@ -1463,6 +1709,7 @@ class TabHeaderSkin extends StackPane {
       tmpPrefHeight = minHeight;
     }
     tmpPrefHeight += paddingTop + paddingBottom;
+    measuredHeight = tmpPrefHeight;
     return tmpPrefHeight;
   }
 
@@ -1527,12 +1774,27 @@ class TabContentRegion extends StackPane {
   private TraversalEngine engine;
   private Direction direction = Direction.NEXT;
   private Tab tab;
+  private boolean attached = true;
+
+  // the snapshot of the selected tab is refreshed at this interval while it shows
+  private static final long SNAPSHOT_INTERVAL = 2000;
+  private TimerTask snapshotRefresh;
+  // the preview is shown until this many pulses have passed
+  private static final int PREVIEW_PULSES = 2;
+  private ImageView preview;
+  private AnimationTimer previewTimer;
 
   private InvalidationListener tabContentListener = valueModel -> {
     updateContent();
   };
   private InvalidationListener tabSelectedListener = new InvalidationListener() {
     @Override public void invalidated(Observable valueModel) {
+      if (isTabSnapshots() && tab.isSelected()) {
+        showPreview();
+      } else if (!tab.isSelected()) {
+        hidePreview();
+      }
+      updateSnapshotRefresh();
       setVisible(tab.isSelected());
     }
   };
@@ -1555,10 +1817,13 @@ class TabContentRegion extends StackPane {
 
     tab.selectedProperty().addListener(weakTabSelectedListener);
     tab.contentProperty().addListener(weakTabContentListener);
+    sceneProperty().addListener(valueModel -> updateSnapshotRefresh());
+    updateSnapshotRefresh();
   }
 
   private void updateContent() {
     Node newContent = getTab().getContent();
+    hidePreview();
     if (newContent == null) {
       getChildren().clear();
     } else {
@@ -1569,6 +1834,96 @@ class TabContentRegion extends StackPane {
   private void removeListeners(Tab tab) {
     tab.selectedProperty().removeListener(weakTabSelectedListener);
     tab.contentProperty().removeListener(weakTabContentListener);
+    cancelSnapshotRefresh();
+    hidePreview();
+  }
+
+  /**
+   * Refreshes the snapshot of the content at a low frequency while the tab is selected and in a
+   * scene, so that switching away from the tab does not have to render it.
+   */
+  private void updateSnapshotRefresh() {
+    boolean refresh = isTabSnapshots() && tab.isSelected() && getScene() != null;
+    if (!refresh) {
+      cancelSnapshotRefresh();
+    } else if (snapshotRefresh == null) {
+      snapshotRefresh = new TimerTask() {
+        @Override public void run() {
+          Platform.runLater(() -> {
+            if (snapshotRefresh == this) {
+              takeSnapshot();
+            }
+          });
+        }
+      };
+      getSnapshotTimer().schedule(snapshotRefresh, SNAPSHOT_INTERVAL, SNAPSHOT_INTERVAL);
+    }
+  }
+
+  private void cancelSnapshotRefresh() {
+    if (snapshotRefresh != null) {
+      snapshotRefresh.cancel();
+      snapshotRefresh = null;
+    }
+  }
+
+  /**
+   * Keeps the last rendered image of the content while the tab shows.
+   */
+  private void takeSnapshot() {
+    Node content = tab.getContent();
+    if (content == null || content.getScene() == null || getWidth() <= 0 || getHeight() <= 0 ||
+        preview != null || !isVisible() || getScene().getWindow() == null ||
+        !getScene().getWindow().isShowing()) {
+      return;
+    }
+    TabSnapshotCache.put(tab, content.snapshot(null, null));
+
+    TabHeaderSkin tabHeader = tabHeaderArea.getTabHeaderSkin(tab);
+    if (tabHeader != null) {
+      tabHeader.updateThumbnail();
+    }
+  }
+
+  /**
+   * Shows the cached image of the content on top of the content itself, which may take long to
+   * lay out, until the content has been laid out. The content stays in the scene graph.
+   */
+  private void showPreview() {
+    Image snapshot = TabSnapshotCache.get(tab);
+    Node content = tab.getContent();
+    if (snapshot == null || content == null || getScene() == null || preview != null) {
+      return;
+    }
+    preview = new ImageView(snapshot);
+    preview.setMouseTransparent(true);
+    StackPane.setAlignment(preview, Pos.TOP_LEFT);
+    getChildren().add(preview);
+
+    previewTimer = new AnimationTimer() {
+      private int pulses;
+
+      @Override public void handle(long now) {
+        // the content was laid out and rendered under the preview by the
+        // previous pulse, content that keeps asking for layout must not keep
+        // the preview up
+        if (++pulses >= PREVIEW_PULSES) {
+          hidePreview();
+        }
+      }
+    };
+    previewTimer.start();
+  }
+
+  private void hidePreview() {
+    if (previewTimer != null) {
+      previewTimer.stop();
+      previewTimer = null;
+    }
+    if (preview != null) {
+      getChildren().remove(preview);
+      preview = null;
+    }
   }
 
 } /* End TabContentRegion */
@@ -1585,6 +1940,13 @@ class TabControlButtons extends StackPane {
   private boolean showControlButtons;
   private ContextMenu popup;
 
+  // menu items are kept per tab and only created or disposed when tabs come and go
+  private final Map<Tab, TabMenuItem> menuItems = new HashMap<>();
+  private final ToggleGroup menuToggleGroup = new ToggleGroup();
+  private boolean menuItemsChanged = true;
+  private TextField searchField;
+  private CustomMenuItem searchItem;
+
   public TabControlButtons() {
     getStyleClass().setAll("control-buttons-tab");
 
@@ -1662,7 +2024,7 @@ class TabControlButtons extends StackPane {
       Side tabPosition = getSkinnable().getSide();
       downArrow.setRotate(tabPosition.equals(Side.BOTTOM)? 180.0F : 0.0F);
     });
-    tabPane.getTabs().addListener((ListChangeListener<Tab>) c -> setupPopupMenu());
+    tabPane.getTabs().addListener((ListChangeListener<Tab>) c -> updateMenuItems(c));
     showControlButtons = false;
     if (isShowTabsMenu()) {
       showControlButtons = true;
@@ -1733,8 +2095,6 @@ class TabControlButtons extends StackPane {
       showControlButtons = true;
     } else {
       setVisible(false);
-      popup.getItems().clear();
-      popup = null;
     }
 
     // This needs to be called when we are in the left tabPosition
@@ -1746,26 +2106,90 @@ class TabControlButtons extends StackPane {
   private void setupPopupMenu() {
     if (popup == null) {
       popup = new ContextMenu();
+
+      searchField = new TextField();
+      searchField.setPromptText("Search tabs");
+      searchField.getStyleClass().add("tab-menu-search");
+      searchField.textProperty().addListener(valueModel -> filterMenuItems());
+      searchField.setOnAction(t -> selectFirstMatch());
+      searchItem = new CustomMenuItem(searchField, false);
+
+      popup.setOnShown(t -> searchField.requestFocus());
+      popup.setOnHidden(t -> searchField.clear());
     }
-    popup.getItems().clear();
-    ToggleGroup group = new ToggleGroup();
-    ObservableList<RadioMenuItem> menuitems = FXCollections.<RadioMenuItem>observableArrayList();
-    for (final Tab tab : getSkinnable().getTabs()) {
-      TabMenuItem item = new TabMenuItem(tab);
-      item.setToggleGroup(group);
-      item.setOnAction(t -> getSkinnable().getSelectionModel().select(tab));
-      menuitems.add(item);
+    for (Tab tab : getSkinnable().getTabs()) {
+      getMenuItem(tab);
     }
-    popup.getItems().addAll(menuitems);
+    menuItemsChanged = true;
   }
 
-  private void showPopupMenu() {
-    for (MenuItem mi: popup.getItems()) {
-      TabMenuItem tmi = (TabMenuItem)mi;
-      if (selectedTab.equals(tmi.getTab())) {
-        tmi.setSelected(true);
-        break;
+  private TabMenuItem getMenuItem(Tab tab) {
+    return menuItems.computeIfAbsent(tab, t -> {
+      TabMenuItem item = new TabMenuItem(t);
+      item.setToggleGroup(menuToggleGroup);
+      item.setOnAction(e -> getSkinnable().getSelectionModel().select(t));
+      return item;
+    });
+  }
+
+  private void updateMenuItems(ListChangeListener.Change<? extends Tab> c) {
+    while (c.next()) {
+      for (Tab tab : c.getRemoved()) {
+        // moved tabs are removed and added again within the same change
+        if (!getSkinnable().getTabs().contains(tab)) {
+          TabMenuItem item = menuItems.remove(tab);
+          if (item != null) {
+            item.setToggleGroup(null);
+            item.dispose();
+          }
+        }
       }
+      for (Tab tab : c.getAddedSubList()) {
+        getMenuItem(tab);
+      }
+    }
+    menuItemsChanged = true;
+    if (popup.isShowing()) {
+      refreshPopupItems();
+    }
+  }
+
+  private void refreshPopupItems() {
+    List<MenuItem> items = new ArrayList<>(menuItems.size() + 1);
+    items.add(searchItem);
+    for (Tab tab : getSkinnable().getTabs()) {
+      items.add(getMenuItem(tab));
+    }
+    popup.getItems().setAll(items);
+    menuItemsChanged = false;
+    filterMenuItems();
+  }
+
+  private void filterMenuItems() {
+    searchItem.setVisible(menuItems.size() >= SEARCH_THRESHOLD);
+    String query = searchField.getText() == null ? "" : searchField.getText().trim().toLowerCase();
+    for (TabMenuItem item : menuItems.values()) {
+      item.setVisible(query.isEmpty() || item.matches(query));
+    }
+  }
+
+  private void selectFirstMatch() {
+    for (MenuItem mi : popup.getItems()) {
+      if (mi instanceof TabMenuItem && mi.isVisible()) {
+        getSkinnable().getSelectionModel().select(((TabMenuItem) mi).getTab());
+        popup.hide();
+        return;
+      }
+    }
+  }
+
+  private void showPopupMenu() {
+    if (menuItemsChanged) {
+      refreshPopupItems();
+    }
+    TabMenuItem item = menuItems.get(selectedTab);
+    if (item != null) {
+      item.setSelected(true);
     }
     popup.show(downArrowBtn, Side.BOTTOM, 0, 0);
   }
@@ -1774,6 +2198,9 @@ class TabControlButtons extends StackPane {
 class TabMenuItem extends RadioMenuItem {
   DockNodeTab tab;
 
+  // lower case title the search field matches against, computed on demand
+  private String searchKey;
+
   private InvalidationListener disableListener = new InvalidationListener() {
     @Override public void invalidated(Observable o) {
       setDisable(tab.isDisable());
@@ -1788,11 +2215,19 @@ class TabMenuItem extends RadioMenuItem {
   }
 
   public TabMenuItem(final DockNodeTab tab) {
-    super(tab.getTitle(), ContentTabPaneSkin.clone(tab.getGraphic()));
+    super(tab.getTitle(), ContentTabPaneSkin.clone(tab.getDockNode().getGraphic()));
     this.tab = tab;
     setDisable(tab.isDisable());
     tab.disableProperty().addListener(weakDisableListener);
     textProperty().bind(tab.titleProperty());
+    textProperty().addListener(valueModel -> searchKey = null);
+  }
+
+  boolean matches(String query) {
+    if (searchKey == null) {
+      searchKey = getText() == null ? "" : getText().toLowerCase();
+    }
+    return searchKey.contains(query);
   }
 
   public Tab getTab() {
@@ -0,0 +1,82 @@
+package org.dockfx.pane.skin;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javafx.scene.control.Tab;
+import javafx.scene.image.Image;
+
+/**
+ * TabSnapshotCache holds the last rendered image of tab contents for hover thumbnails and
+ * switch previews. All tab panes share one memory budget and the least recently used images
+ * are released first.
+ */
+public final class TabSnapshotCache {
+
+  /**
+   * The default memory budget in bytes
+   */
+  public static final long DEFAULT_MEMORY_BUDGET = 64L * 1024 * 1024;
+
+  private static final Map<Tab, Image> snapshots = new LinkedHashMap<>(16, 0.75f, true);
+
+  private static long memoryBudget = DEFAULT_MEMORY_BUDGET;
+  private static long memoryUsed;
+
+  private TabSnapshotCache() {
+  }
+
+  public static long getMemoryBudget() {
+    return memoryBudget;
+  }
+
+  /**
+   * Sets the number of bytes all cached snapshots may take together.
+   *
+   * @param memoryBudget the memory budget in bytes
+   */
+  public static void setMemoryBudget(long memoryBudget) {
+    TabSnapshotCache.memoryBudget = memoryBudget;
+    evict();
+  }
+
+  public static long getMemoryUsed() {
+    return memoryUsed;
+  }
+
+  static Image get(Tab tab) {
+    return snapshots.get(tab);
+  }
+
+  static void put(Tab tab, Image image) {
+    release(tab);
+    long size = sizeOf(image);
+    if (size > memoryBudget) {
+      return;
+    }
+    snapshots.put(tab, image);
+    memoryUsed += size;
+    evict();
+  }
+
+  static void release(Tab tab) {
+    Image image = snapshots.remove(tab);
+    if (image != null) {
+      memoryUsed -= sizeOf(image);
+    }
+  }
+
+  private static void evict() {
+    Iterator<Image> images = snapshots.values().iterator();
+    while (memoryUsed > memoryBudget && images.hasNext()) {
+      memoryUsed -= sizeOf(images.next());
+      images.remove();
+    }
+  }
+
+  private static long sizeOf(Image image) {
+    // snapshots are stored as 32 bit pixels
+    return (long) image.getWidth() * (long) image.getHeight() * 4;
+  }
+}
@@ -39,4 +39,20 @@ abstract public class DockFXViewController {
         return dockTitleBar;
     }
 
+    /**
+     * Called when the dock node took its contents out of the scene graph
+     * because it was minimized or closed, see
+     * {@link org.dockfx.DockNode#setDetachContentsWhenHidden(boolean)}. This is
+     * the place to stop timers and release textures or models.
+     */
+    public void onContentsDetached() {
+    }
+
+    /**
+     * Called when the dock node put its contents back into the scene graph
+     * after being restored.
+     */
+    public void onContentsAttached() {
+    }
+
 }
@@ -0,0 +1,76 @@
+package org.dockfx;
+
+import static org.junit.Assert.assertNull;
+
+import java.lang.ref.WeakReference;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.stage.Stage;
+
+/**
+ * A disposed dock node must not be kept alive by the dock pane, its floating
+ * stage, its tab or its title bar.
+ */
+public class DockNodeDisposeTest {
+
+	private Stage stage;
+	// the dock pane and its remaining node stay alive during the whole test
+	private DockPane dockPane;
+	private DockNode sibling;
+
+	@BeforeClass
+	public static void startToolkit() {
+		FXTestUtils.startToolkit();
+	}
+
+	@After
+	public void closeStage() throws Exception {
+		FXTestUtils.onFXThread(() -> {
+			stage.close();
+			return null;
+		});
+	}
+
+	@Test
+	public void disposedDockNodeIsCollected() throws Exception {
+		WeakReference<DockNode> reference = FXTestUtils.onFXThread(() -> {
+			dockPane = new DockPane();
+			stage = new Stage();
+			stage.setScene(new Scene(dockPane, 400, 300));
+			stage.show();
+
+			sibling = new DockNode(new Label("Sibling"), "Sibling");
+			sibling.dock(dockPane, DockPos.LEFT);
+
+			DockNode node = new DockNode(new Label("Disposed"), "Disposed");
+			node.dock(dockPane, DockPos.RIGHT);
+			node.setFloating(true);
+			return new WeakReference<>(node);
+		});
+		FXTestUtils.waitForPulses();
+
+		FXTestUtils.onFXThread(() -> {
+			// dock it back as a tab next to the sibling
+			reference.get().dock(dockPane, DockPos.CENTER, sibling);
+			return null;
+		});
+		FXTestUtils.waitForPulses();
+
+		FXTestUtils.onFXThread(() -> {
+			reference.get().dispose();
+			return null;
+		});
+		FXTestUtils.waitForPulses();
+
+		for (int i = 0; i < 50 && reference.get() != null; i++) {
+			System.gc();
+			FXTestUtils.waitForPulses();
+		}
+		assertNull("the disposed dock node is still referenced", reference.get());
+	}
+}
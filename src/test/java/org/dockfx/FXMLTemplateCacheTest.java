@@ -0,0 +1,59 @@
+package org.dockfx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Class names that do not resolve must stay cached across loads, also after
+ * garbage collection.
+ */
+public class FXMLTemplateCacheTest {
+
+	private static final String VIEW = "/org/dockfx/TemplateCacheView.fxml";
+
+	@BeforeClass
+	public static void startToolkit() {
+		FXTestUtils.startToolkit();
+	}
+
+	@Test
+	public void secondLoadHitsTheCacheAfterGC() throws Exception {
+		CountingClassLoader classLoader = new CountingClassLoader(getClass().getClassLoader());
+
+		FXMLTemplateCache.load(VIEW, classLoader);
+		int firstMisses = classLoader.misses.get();
+		// the wildcard imports make the loader probe names that do not exist
+		assertTrue(firstMisses > 0);
+
+		System.gc();
+		FXMLTemplateCache.load(VIEW, classLoader);
+		assertEquals(firstMisses, classLoader.misses.get());
+	}
+
+	/**
+	 * Counts the lookups of class names that do not resolve.
+	 */
+	private static class CountingClassLoader extends ClassLoader {
+
+		private final AtomicInteger misses = new AtomicInteger();
+
+		CountingClassLoader(ClassLoader parent) {
+			super(parent);
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			try {
+				return super.loadClass(name, resolve);
+			} catch (ClassNotFoundException e) {
+				misses.incrementAndGet();
+				throw e;
+			}
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package org.dockfx;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import javafx.application.Platform;
+import javafx.embed.swing.JFXPanel;
+
+/**
+ * FXTestUtils starts the FX toolkit once for all tests and runs test code on
+ * the FX application thread.
+ */
+final class FXTestUtils {
+
+	private static boolean started;
+
+	private FXTestUtils() {
+	}
+
+	/**
+	 * Starts the FX toolkit unless a previous test already did.
+	 */
+	static synchronized void startToolkit() {
+		if (!started) {
+			// creating a JFXPanel is the way to start the toolkit without an
+			// Application on Java 8
+			new JFXPanel();
+			Platform.setImplicitExit(false);
+			started = true;
+		}
+	}
+
+	/**
+	 * Runs the given code on the FX application thread and waits for its
+	 * result.
+	 *
+	 * @param callable
+	 *            the code to run
+	 * @return the result of the code
+	 * @throws Exception
+	 *             if the code fails or does not finish within ten seconds
+	 */
+	static <T> T onFXThread(Callable<T> callable) throws Exception {
+		FutureTask<T> task = new FutureTask<>(callable);
+		Platform.runLater(task);
+		return task.get(10, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Waits until the FX application thread has handled everything that was
+	 * posted to it so far and a few pulses have passed.
+	 *
+	 * @throws Exception
+	 *             if the FX application thread does not respond
+	 */
+	static void waitForPulses() throws Exception {
+		for (int i = 0; i < 5; i++) {
+			onFXThread(() -> null);
+			Thread.sleep(50);
+		}
+	}
+}
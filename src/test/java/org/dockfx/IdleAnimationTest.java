@@ -0,0 +1,127 @@
+package org.dockfx;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.Field;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.sun.javafx.tk.Toolkit;
+import com.sun.scenario.animation.AbstractMasterTimer;
+
+import javafx.animation.Animation;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.stage.Stage;
+
+/**
+ * An idle dock pane must not keep any animation, and with it the pulse,
+ * running.
+ */
+public class IdleAnimationTest {
+
+	// longer than the tab snapshot refresh interval
+	private static final long SNAPSHOT_WAIT = 2500;
+
+	private Stage stage;
+
+	@BeforeClass
+	public static void startToolkit() {
+		FXTestUtils.startToolkit();
+	}
+
+	@After
+	public void closeStage() throws Exception {
+		if (stage == null) {
+			return;
+		}
+		FXTestUtils.onFXThread(() -> {
+			stage.close();
+			return null;
+		});
+	}
+
+	@Test
+	public void idleDockPaneRunsNoAnimation() throws Exception {
+		DockPane dockPane = FXTestUtils.onFXThread(() -> {
+			DockPane pane = showDockPane();
+			new DockNode(new Label("Left"), "Left").dock(pane, DockPos.LEFT);
+			new DockNode(new Label("Right"), "Right").dock(pane, DockPos.RIGHT);
+			return pane;
+		});
+		settle();
+
+		assertIdle(dockPane);
+	}
+
+	@Test
+	public void idleTabbedDockPaneRunsNoAnimation() throws Exception {
+		DockNode[] tabs = new DockNode[2];
+		DockPane dockPane = FXTestUtils.onFXThread(() -> {
+			DockPane pane = showDockPane();
+			pane.setTabSnapshots(true);
+			tabs[0] = new DockNode(new Label("First"), "First").dock(pane, DockPos.LEFT);
+			tabs[1] = new DockNode(new Label("Second"), "Second").dock(pane, DockPos.CENTER, tabs[0]);
+			new DockNode(new Label("Right"), "Right").dock(pane, DockPos.RIGHT);
+			return pane;
+		});
+		settle();
+
+		// switch away from a tab with a snapshot and back, which shows the
+		// switch preview
+		Thread.sleep(SNAPSHOT_WAIT);
+		FXTestUtils.onFXThread(() -> {
+			tabs[0].focus();
+			return null;
+		});
+		Thread.sleep(SNAPSHOT_WAIT);
+		FXTestUtils.onFXThread(() -> {
+			tabs[1].focus();
+			return null;
+		});
+		settle();
+
+		assertIdle(dockPane);
+	}
+
+	private DockPane showDockPane() {
+		DockPane pane = new DockPane();
+		stage = new Stage();
+		stage.setScene(new Scene(pane, 400, 300));
+		stage.show();
+		return pane;
+	}
+
+	/**
+	 * Lets tab transitions and previews run to their end.
+	 */
+	private static void settle() throws Exception {
+		Thread.sleep(500);
+		FXTestUtils.waitForPulses();
+	}
+
+	private static void assertIdle(DockPane dockPane) throws Exception {
+		FXTestUtils.onFXThread(() -> {
+			assertEquals(Animation.Status.STOPPED, dockPane.getDockAreaStrokeTimeline().getStatus());
+			assertEquals(0, runningAnimations());
+			return null;
+		});
+	}
+
+	/**
+	 * Counts the timelines, transitions and animation timers registered with
+	 * the master timer, which keeps the pulse running while there are any.
+	 */
+	private static int runningAnimations() throws Exception {
+		AbstractMasterTimer masterTimer = Toolkit.getToolkit().getMasterTimer();
+		int count = 0;
+		for (String name : new String[] { "receiversLength", "animationTimersLength" }) {
+			Field field = AbstractMasterTimer.class.getDeclaredField(name);
+			field.setAccessible(true);
+			count += field.getInt(masterTimer);
+		}
+		return count;
+	}
+}
@@ -0,0 +1,85 @@
+package org.dockfx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.sun.javafx.stage.StageHelper;
+
+import javafx.event.Event;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.stage.Stage;
+
+/**
+ * Evicting a cached perspective must leave neither floating stages nor dock
+ * event filters of its nodes behind.
+ */
+public class PerspectiveReleaseTest {
+
+	private Stage stage;
+
+	@BeforeClass
+	public static void startToolkit() {
+		FXTestUtils.startToolkit();
+	}
+
+	@After
+	public void closeStage() throws Exception {
+		if (stage == null) {
+			return;
+		}
+		FXTestUtils.onFXThread(() -> {
+			stage.close();
+			return null;
+		});
+	}
+
+	@Test
+	public void evictedPerspectiveLeavesNothingBehind() throws Exception {
+		DockNode[] nodes = new DockNode[2];
+		DockPane dockPane = FXTestUtils.onFXThread(() -> {
+			DockPane pane = new DockPane();
+			stage = new Stage();
+			stage.setScene(new Scene(pane, 400, 300));
+			stage.show();
+
+			nodes[0] = new DockNode(new Label("Docked"), "Docked").dock(pane, DockPos.LEFT);
+			nodes[1] = new DockNode(new Label("Floating"), "Floating").dock(pane, DockPos.RIGHT);
+			nodes[1].setFloating(true);
+			return pane;
+		});
+		FXTestUtils.waitForPulses();
+
+		FXTestUtils.onFXThread(() -> {
+			// nothing is cached, so the perspective is evicted right away
+			dockPane.setMaxCachedPerspectives(0);
+			dockPane.setPerspectiveName("first");
+			dockPane.switchPerspective("second");
+			return null;
+		});
+		FXTestUtils.waitForPulses();
+
+		FXTestUtils.onFXThread(() -> {
+			assertNull(nodes[1].getStage());
+			assertEquals(Collections.singletonList(stage), StageHelper.getStages());
+
+			for (DockNode node : nodes) {
+				assertTrue(node.isClosed());
+				Event.fireEvent(node, new DockEvent(DockEvent.DOCK_OVER, 0, 0, 0, 0, null));
+			}
+			// the dock event filter of a node reports it to the dock pane
+			Field dockNodeDrag = DockPane.class.getDeclaredField("dockNodeDrag");
+			dockNodeDrag.setAccessible(true);
+			assertNull(dockNodeDrag.get(dockPane));
+			return null;
+		});
+	}
+}